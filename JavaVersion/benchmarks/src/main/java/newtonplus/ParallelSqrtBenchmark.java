@@ -0,0 +1,64 @@
+package newtonplus;
+
+import java.math.BigInteger;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import newtonplus.benchmarks.InputPool;
+
+// Scaling of ParallelSquareRoot.NewtonPlusSqrt(x, pool, parallelMinBits) with the pool size.
+// threads=1 takes the serial fallback, so it is the baseline the other rows should be divided
+// into. Only meaningful on a machine with at least as many cores as threads. The smallest
+// bitLength that beats the baseline is the parallelMinBits to pass on that machine. It is in
+// package newtonplus, not newtonplus.benchmarks, because ParallelSquareRoot is package-private
+// until these numbers exist.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelSqrtBenchmark extends InputPool {
+
+    @Param({"1048576", "4194304", "16777216"})
+    public int bitLength;
+
+    @Param({"1", "2", "4", "8", "16"})
+    public int threads;
+
+    // The smallest bitLength, so every row takes the parallel path when threads > 1.
+    private static final int PARALLEL_MIN_BITS = 1 << 20;
+
+    private ForkJoinPool forkJoinPool;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // Inputs are large, so the pool is kept small.
+        fillPool(bitLength, 4);
+        forkJoinPool = new ForkJoinPool(threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        forkJoinPool.shutdown();
+    }
+
+    @Benchmark
+    public BigInteger parallelNewtonPlusSqrt() {
+        return ParallelSquareRoot.NewtonPlusSqrt(next(), forkJoinPool, PARALLEL_MIN_BITS);
+    }
+}
@@ -0,0 +1,103 @@
+package newtonplus.benchmarks;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import newtonplus.App;
+import newtonplus.BatchSquareRoot;
+import newtonplus.BigIntegerSquareRoot;
+
+// Throughput of BatchSquareRoot.SqrtAll() against calling the single value functions in a loop.
+// Scores are values per second. Every method except sqrtAllBigIntegerParallel runs on one thread,
+// so those are per core; divide the parallel row by the number of cores to compare.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class BatchSqrtBenchmark {
+
+    // 63 is the largest long[] size, 128 the largest two-limb size.
+    @Param({"16", "32", "52", "63", "100", "128"})
+    public int bitLength;
+
+    private static final int COUNT = 1 << 14;
+
+    private BigInteger[] in;
+    private BigInteger[] out;
+    private long[] hi;
+    private long[] lo;
+    private long[] roots;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random rand = new Random(2344218 + bitLength);
+        in = new BigInteger[COUNT];
+        out = new BigInteger[COUNT];
+        hi = new long[COUNT];
+        lo = new long[COUNT];
+        roots = new long[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            // Random lengths up to bitLength, the way a column of mostly small values looks.
+            in[i] = new BigInteger(1 + rand.nextInt(bitLength), rand);
+            hi[i] = in[i].shiftRight(64).longValue();
+            lo[i] = in[i].longValue();
+        }
+    }
+
+    // long[] up to 63 bits, two-limb above that.
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public long[] sqrtAllPrimitive() {
+        if (bitLength < 64)
+            BatchSquareRoot.SqrtAll(lo, roots);
+        else
+            BatchSquareRoot.SqrtAll(hi, lo, roots);
+        return roots;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public BigInteger[] sqrtAllBigInteger() {
+        BatchSquareRoot.SqrtAll(in, out);
+        return out;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public BigInteger[] sqrtAllBigIntegerParallel() {
+        BatchSquareRoot.SqrtAll(in, out, true);
+        return out;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void newtonPlusSqrtLoop(Blackhole bh) {
+        for (BigInteger x : in)
+            bh.consume(App.NewtonPlusSqrt(x));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void sunsetQuestSqrtLoop(Blackhole bh) {
+        for (BigInteger x : in)
+            bh.consume(BigIntegerSquareRoot.SunsetQuestSqrt(x));
+    }
+}
@@ -0,0 +1,77 @@
+package newtonplus.benchmarks;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import newtonplus.BigFloatingPointSquareRoot;
+import newtonplus.BigFloatingPointSquareRoot.SqrtResult;
+
+// Floating point square roots to a given number of decimal digits. The input always has more
+// digits than are wanted back so this also shows the cost of over-computing.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class BigFloatSqrtBenchmark {
+
+    @Param({"16", "50", "100", "1000", "10000"})
+    public int digits;
+
+    private static final int POOL_SIZE = 16;
+
+    private BigDecimal[] pool;
+    private BigInteger[] mantissas;
+    private int[] shifts;
+    private MathContext mc;
+    private int bits;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random rand = new Random(2344218 + digits);
+        mc = new MathContext(digits);
+        bits = (int)Math.ceil(digits * 3.3219280948873623);
+        pool = new BigDecimal[POOL_SIZE];
+        mantissas = new BigInteger[POOL_SIZE];
+        shifts = new int[POOL_SIZE];
+        for (int i = 0; i < POOL_SIZE; i++) {
+            pool[i] = new BigDecimal(new BigInteger(4 * bits, rand), rand.nextInt(2 * digits));
+            mantissas[i] = new BigInteger(4 * bits, rand);
+            shifts[i] = rand.nextInt(2 * bits) - bits;
+        }
+    }
+
+    @Benchmark
+    public SqrtResult sunsetQuestSqrtFloat() {
+        int i = index++ & (POOL_SIZE - 1);
+        return BigFloatingPointSquareRoot.SunsetQuestSqrtFloat(mantissas[i], shifts[i], bits);
+    }
+
+    @Benchmark
+    public BigDecimal sunsetQuestSqrtBigDecimal() {
+        return BigFloatingPointSquareRoot.SunsetQuestSqrt(pool[index++ & (POOL_SIZE - 1)], mc);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalSqrt() {
+        return pool[index++ & (POOL_SIZE - 1)].sqrt(mc);
+    }
+}
@@ -0,0 +1,43 @@
+package newtonplus.benchmarks;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import newtonplus.App;
+
+// bigIntSqRootFloor starts at x/2 and needs about bitLength/2 divisions to converge, so it is
+// kept out of SqrtBenchmark where the 200,000 bit case would take minutes per call.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class BigIntSqRootFloorBenchmark extends InputPool {
+
+    @Param({"5", "16", "32", "53", "57", "64", "100", "128", "256", "512", "1024", "2048", "4096", "8192"})
+    public int bitLength;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        fillPool(bitLength);
+    }
+
+    @Benchmark
+    public BigInteger bigIntSqRootFloor() {
+        return App.bigIntSqRootFloor(next());
+    }
+}
@@ -0,0 +1,82 @@
+package newtonplus.benchmarks;
+
+import java.io.FileNotFoundException;
+import java.io.PrintWriter;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the sqrt benchmarks with the GC profiler and writes the results in two forms:
+ *   results.json - the full JMH output (usable with any JMH visualizer)
+ *   results.csv  - one row per bit length with a ns/op and B/op column per method; this is the
+ *                  layout the old test.csv had and is what the charts are built from.
+ * Any extra arguments are passed on to JMH, e.g. "-p bitLength=64,128 -f 1".
+ * Usage: java -cp target/benchmarks.jar newtonplus.benchmarks.ChartExport [jmh options]
+ */
+public class ChartExport {
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(SqrtBenchmark.class.getSimpleName())
+                .include(BigIntSqRootFloorBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("results.json")
+                .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+        writeCsv(results, "results.csv");
+    }
+
+    private static void writeCsv(Collection<RunResult> results, String fileName) throws FileNotFoundException {
+        // bitLength -> column -> value
+        Map<Integer, Map<String, Double>> rows = new TreeMap<>();
+        TreeSet<String> columns = new TreeSet<>();
+
+        for (RunResult run : results) {
+            String bits = run.getParams().getParam("bitLength");
+            if (bits == null)
+                continue;
+            String method = run.getParams().getBenchmark();
+            method = method.substring(method.lastIndexOf('.') + 1);
+
+            Map<String, Double> row = rows.computeIfAbsent(Integer.parseInt(bits), k -> new TreeMap<>());
+            row.put(method + " ns/op", run.getPrimaryResult().getScore());
+            columns.add(method + " ns/op");
+
+            Result<?> alloc = run.getSecondaryResults().get("gc.alloc.rate.norm");
+            if (alloc != null) {
+                row.put(method + " B/op", alloc.getScore());
+                columns.add(method + " B/op");
+            }
+        }
+
+        try (PrintWriter writer = new PrintWriter(fileName)) {
+            writer.print("bits");
+            for (String column : columns)
+                writer.print("," + column);
+            writer.println();
+
+            for (Map.Entry<Integer, Map<String, Double>> row : rows.entrySet()) {
+                writer.print(row.getKey());
+                for (String column : columns) {
+                    Double value = row.getValue().get(column);
+                    writer.print("," + (value == null ? "" : String.format(Locale.ROOT, "%.3f", value)));
+                }
+                writer.println();
+            }
+        }
+    }
+}
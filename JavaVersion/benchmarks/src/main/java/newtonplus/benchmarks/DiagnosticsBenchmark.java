@@ -0,0 +1,53 @@
+package newtonplus.benchmarks;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import newtonplus.App;
+import newtonplus.SqrtDiagnostics;
+import newtonplus.SqrtDiagnostics.VerificationLevel;
+
+// The cost of each SqrtDiagnostics verification level and of the metrics counters on NewtonPlusSqrt.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class DiagnosticsBenchmark extends InputPool {
+
+    // One size for each path: long, double, classic Newton and Newton Plus.
+    @Param({"53", "100", "512", "4096"})
+    public int bitLength;
+
+    @Param({"OFF", "SAMPLED", "ALWAYS"})
+    public VerificationLevel verification;
+
+    @Param({"false", "true"})
+    public boolean metrics;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SqrtDiagnostics.SetVerificationLevel(verification);
+        SqrtDiagnostics.SetMetricsEnabled(metrics);
+        fillPool(bitLength);
+    }
+
+    @Benchmark
+    public BigInteger newtonPlusSqrt() {
+        return App.NewtonPlusSqrt(next());
+    }
+}
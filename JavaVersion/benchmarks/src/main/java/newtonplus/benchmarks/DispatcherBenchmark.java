@@ -0,0 +1,64 @@
+package newtonplus.benchmarks;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import newtonplus.App;
+import newtonplus.BigIntegerSquareRoot;
+import newtonplus.SqrtDispatcher;
+
+// A calibrated SqrtDispatcher against calling each implementation directly. The dispatcher should
+// match the fastest direct call at every size, give or take the table lookup.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class DispatcherBenchmark extends InputPool {
+
+    @Param({"32", "64", "128", "512", "2048", "8192", "32768"})
+    public int bitLength;
+
+    private SqrtDispatcher dispatcher;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // Calibrated once per fork, the way a node without a profile file would start.
+        dispatcher = SqrtDispatcher.Calibrate();
+        fillPool(bitLength);
+    }
+
+    @Benchmark
+    public BigInteger dispatcher() {
+        return dispatcher.Sqrt(next());
+    }
+
+    @Benchmark
+    public BigInteger newtonPlusSqrt() {
+        return App.NewtonPlusSqrt(next());
+    }
+
+    @Benchmark
+    public BigInteger sunsetQuestSqrt() {
+        return BigIntegerSquareRoot.SunsetQuestSqrt(next());
+    }
+
+    @Benchmark
+    public BigInteger javaSqrt() {
+        return next().sqrt();
+    }
+}
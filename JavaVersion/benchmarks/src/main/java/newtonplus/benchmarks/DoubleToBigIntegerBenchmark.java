@@ -0,0 +1,42 @@
+package newtonplus.benchmarks;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import newtonplus.App;
+
+// Replaces App.BenchmarkDoubleToBigInteger(). The value is read from a non-final field so it is
+// not constant folded.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class DoubleToBigIntegerBenchmark {
+
+    @Param({"-9999999.99999999", "4503599761588224", "1.7e37", "1.7976931348623157e308"})
+    public double value;
+
+    @Benchmark
+    public BigInteger doubleToBigInteger() {
+        return App.DoubleToBigInteger(value);
+    }
+
+    @Benchmark
+    public BigInteger bigDecimalToBigInteger() {
+        return BigDecimal.valueOf(value).toBigInteger();
+    }
+}
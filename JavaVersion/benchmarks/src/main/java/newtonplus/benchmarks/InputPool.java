@@ -0,0 +1,49 @@
+package newtonplus.benchmarks;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+// The input pool most benchmarks share: random values of exactly bitLength bits from a seed that
+// depends only on bitLength, handed out in turn by next(). Cycling through a pool keeps branch
+// prediction and caches from learning a single input. A benchmark extends this, declares its own
+// bitLength @Param and calls fillPool() from its @Setup.
+@State(Scope.Thread)
+public abstract class InputPool {
+
+    protected static final int POOL_SIZE = 64;
+
+    protected BigInteger[] pool;
+    private int index;
+
+    // Fills the pool with POOL_SIZE values. The Random is returned so a benchmark can make other
+    // inputs from the same seed.
+    protected Random fillPool(int bitLength) {
+        return fillPool(bitLength, POOL_SIZE);
+    }
+
+    // Same as fillPool(bitLength) with a pool of size values; size must be a power of two.
+    protected Random fillPool(int bitLength, int size) {
+        Random rand = new Random(2344218 + bitLength);
+        pool = new BigInteger[size];
+        for (int i = 0; i < size; i++)
+            pool[i] = randomOfLength(bitLength, rand);
+        return rand;
+    }
+
+    protected BigInteger next() {
+        return pool[nextIndex()];
+    }
+
+    // For benchmarks that keep other arrays in step with the pool.
+    protected int nextIndex() {
+        return index++ & (pool.length - 1);
+    }
+
+    // Forces the top bit so the value is exactly bitLength bits long.
+    protected static BigInteger randomOfLength(int bitLength, Random rand) {
+        return new BigInteger(bitLength, rand).or(BigInteger.ONE.shiftLeft(bitLength - 1));
+    }
+}
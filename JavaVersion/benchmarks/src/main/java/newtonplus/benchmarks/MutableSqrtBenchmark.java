@@ -0,0 +1,68 @@
+package newtonplus.benchmarks;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import newtonplus.BigIntegerSquareRoot;
+import newtonplus.MutableSquareRoot;
+
+// MutableSquareRoot.SqrtInto() against the BigInteger versions in its 64-4096 bit range. Run with
+// -prof gc; sqrtInto should show ~0 B/op.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class MutableSqrtBenchmark extends InputPool {
+
+    @Param({"64", "128", "256", "512", "1024", "2048", "4096"})
+    public int bitLength;
+
+    private int[][] limbs;
+    private int[] dst;
+    private MutableSquareRoot sqrt;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        fillPool(bitLength);
+        limbs = new int[POOL_SIZE][];
+        for (int i = 0; i < POOL_SIZE; i++) {
+            limbs[i] = new int[(bitLength + 31) / 32];
+            for (int k = 0; k < limbs[i].length; k++)
+                limbs[i][k] = pool[i].shiftRight(32 * k).intValue();
+        }
+        dst = new int[limbs[0].length / 2 + 1];
+        sqrt = new MutableSquareRoot(bitLength);
+    }
+
+    @Benchmark
+    public int[] sqrtInto() {
+        int[] x = limbs[nextIndex()];
+        sqrt.SqrtInto(dst, x, x.length);
+        return dst;
+    }
+
+    @Benchmark
+    public BigInteger mutableSqrtBigInteger() {
+        return sqrt.Sqrt(next());
+    }
+
+    @Benchmark
+    public BigInteger sunsetQuestSqrt() {
+        return BigIntegerSquareRoot.SunsetQuestSqrt(next());
+    }
+}
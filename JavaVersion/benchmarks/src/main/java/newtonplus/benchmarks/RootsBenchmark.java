@@ -0,0 +1,59 @@
+package newtonplus.benchmarks;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import newtonplus.BigIntegerRoots;
+import newtonplus.BigIntegerSquareRoot;
+
+// BigIntegerRoots.NthRoot() and InvSqrt(). invSqrt is scaled by 2^bitLength so its result has
+// about half the bits of x; the reference is the exact floor(sqrt(2^2b / x)).
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class RootsBenchmark extends InputPool {
+
+    @Param({"64", "256", "1024", "4096", "16384", "65536"})
+    public int bitLength;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        fillPool(bitLength);
+    }
+
+    @Benchmark
+    public BigInteger cubeRoot() {
+        return BigIntegerRoots.NthRoot(next(), 3);
+    }
+
+    @Benchmark
+    public BigInteger seventhRoot() {
+        return BigIntegerRoots.NthRoot(next(), 7);
+    }
+
+    @Benchmark
+    public BigInteger invSqrt() {
+        return BigIntegerRoots.InvSqrt(next(), bitLength);
+    }
+
+    @Benchmark
+    public BigInteger divideThenSqrt() {
+        return BigIntegerSquareRoot.SunsetQuestSqrt(BigInteger.ONE.shiftLeft(2 * bitLength).divide(next()));
+    }
+}
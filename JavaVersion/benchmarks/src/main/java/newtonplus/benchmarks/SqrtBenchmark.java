@@ -0,0 +1,57 @@
+package newtonplus.benchmarks;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import newtonplus.App;
+import newtonplus.BigIntegerSquareRoot;
+
+// Replaces the old Instant.now() "Benchmarking Area" in App.main. Each invocation takes the next
+// value from a small pool of random inputs so the JIT cannot specialize on one constant.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class SqrtBenchmark extends InputPool {
+
+    // Covers each branch of NewtonPlusSqrt: the long path (<57 bits), the double seeded paths
+    // (<125 bits, <425 bits), the classic Newton path (<846 bits) and the Newton Plus loop.
+    @Param({"5", "16", "32", "53", "57", "64", "100", "125", "128", "256", "424", "512", "846", "1024",
+            "2048", "4096", "8192", "16384", "32768", "65536", "131072", "200000"})
+    public int bitLength;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        fillPool(bitLength);
+    }
+
+    @Benchmark
+    public BigInteger newtonPlusSqrt() {
+        return App.NewtonPlusSqrt(next());
+    }
+
+    @Benchmark
+    public BigInteger sunsetQuestSqrt() {
+        return BigIntegerSquareRoot.SunsetQuestSqrt(next());
+    }
+
+    @Benchmark
+    public BigInteger javaSqrt() {
+        return next().sqrt();
+    }
+}
@@ -0,0 +1,79 @@
+package newtonplus.benchmarks;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import newtonplus.BigIntegerSquareRoot;
+
+// SqrtRem() and IsPerfectSquare() against squaring the root again, which is what callers had to
+// do before, and against the JDK.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class SqrtRemBenchmark extends InputPool {
+
+    @Param({"64", "256", "1024", "4096", "16384", "65536"})
+    public int bitLength;
+
+    private BigInteger[] squares;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random rand = fillPool(bitLength);
+        squares = new BigInteger[POOL_SIZE];
+        for (int i = 0; i < POOL_SIZE; i++) {
+            BigInteger root = randomOfLength(bitLength / 2, rand);
+            squares[i] = root.multiply(root);
+        }
+    }
+
+    private BigInteger nextSquare() {
+        return squares[nextIndex()];
+    }
+
+    @Benchmark
+    public BigInteger[] sqrtRem() {
+        return BigIntegerSquareRoot.SqrtRem(next());
+    }
+
+    @Benchmark
+    public BigInteger sqrtThenSquare() {
+        BigInteger x = next();
+        BigInteger root = BigIntegerSquareRoot.SunsetQuestSqrt(x);
+        return x.subtract(root.multiply(root));
+    }
+
+    @Benchmark
+    public BigInteger[] javaSqrtAndRemainder() {
+        return next().sqrtAndRemainder();
+    }
+
+    // Random values, so nearly all are rejected by the residue filters.
+    @Benchmark
+    public boolean isPerfectSquareRandom() {
+        return BigIntegerSquareRoot.IsPerfectSquare(next());
+    }
+
+    // Every value passes the filters and needs the full square root.
+    @Benchmark
+    public boolean isPerfectSquareSquares() {
+        return BigIntegerSquareRoot.IsPerfectSquare(nextSquare());
+    }
+}
@@ -0,0 +1,151 @@
+package newtonplus;
+
+import java.math.BigInteger;
+
+public class App {
+    // Prints floor(sqrt(n)) for each argument. The tests that used to run from here are under
+    // core/src/test: "mvn test" runs them, "mvn test -Pfuzz" runs the long boundary fuzzer.
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.out.println("Usage: newtonplus.App <n> [<n> ...]  prints floor(sqrt(n)) for each n");
+            return;
+        }
+        for (String arg : args)
+            System.out.println(NewtonPlusSqrt(new BigInteger(arg)));
+    }
+
+
+    // A fast square root by Ryan Scott White. 
+    public static BigInteger NewtonPlusSqrt(BigInteger x) {
+        if (x.compareTo(BigInteger.valueOf(144838757784765629L)) < 0) {
+            if (x.signum() < 0)
+                throw new ArithmeticException("Negative BigInteger");
+            long xAsLong = x.longValue();
+            long vInt = (long)Math.sqrt(xAsLong);
+            if (vInt * vInt > xAsLong)
+                vInt--;
+            if (SqrtDiagnostics.metricsEnabled)
+                SqrtDiagnostics.LONG_PATH.increment();
+            return BigInteger.valueOf(vInt);  }
+
+        boolean metrics = SqrtDiagnostics.metricsEnabled;
+        double xAsDub = x.doubleValue();
+        BigInteger val;
+        if (xAsDub < 2.1267e37) // 2.12e37 largest here since sqrt(long.max*long.max) > long.max
+        {
+            if (metrics)
+                SqrtDiagnostics.DOUBLE_PATH.increment();
+            long vInt = (long)Math.sqrt(xAsDub);
+            val = BigInteger.valueOf((vInt + x.divide(BigInteger.valueOf(vInt)).longValue()) >> 1);
+        }
+        else if (xAsDub < 4.3322e127) {
+            if (metrics)
+                SqrtDiagnostics.DOUBLE_PATH.increment();
+            // Convert a double to a BigInteger
+            long bits = Double.doubleToLongBits(Math.sqrt(xAsDub));
+            int exp = ((int) (bits >> 52) & 0x7ff) - 1075;
+            val = BigInteger.valueOf((bits & ((1L << 52)) - 1) | (1L << 52)).shiftLeft(exp);
+
+            val = x.divide(val).add(val).shiftRight(1);
+            if (xAsDub > 2e63) {
+                val = x.divide(val).add(val).shiftRight(1);  }
+        }
+        else // handle large numbers over 4.3322e127
+        {
+            int xLen = x.bitLength();
+            int wantedPrecision = ((xLen + 1) / 2);
+            int xLenMod = xLen + (xLen & 1) + 1;
+
+            //////// Do the first Sqrt on Hardware ////////
+            long tempX = x.shiftRight(xLenMod - 63).longValue();
+            double tempSqrt1 = Math.sqrt(tempX);
+            long valLong = Double.doubleToLongBits(tempSqrt1) & 0x1fffffffffffffL;
+
+            if (valLong == 0)
+                valLong = 1L << 53;
+
+            //////// Classic Newton Iterations ////////
+            val = BigInteger.valueOf(valLong).shiftLeft(53 - 1)
+                    .add((x.shiftRight(xLenMod - (3 * 53))).divide(BigInteger.valueOf(valLong)));
+
+            int size = 106;
+            for (; size < 256; size <<= 1) {
+                val = val.shiftLeft(size - 1).add(x.shiftRight(xLenMod - (3 * size)).divide(val)); }
+
+            if (xAsDub > 4e254) // 4e254 = 1<<845.77 
+            {
+                int numOfNewtonSteps = 31 - Integer.numberOfLeadingZeros(wantedPrecision / size) + 1;
+
+                ////// Apply Starting Size ////////
+                int wantedSize = (wantedPrecision >> numOfNewtonSteps) + 2;
+                int needToShiftBy = size - wantedSize;
+                val = val.shiftRight(needToShiftBy);
+
+                size = wantedSize;
+                int iterations = 0;
+                do {
+                    //////// Newton Plus Iteration ////////
+                    int shiftX = xLenMod - (3 * size);
+                    BigInteger valSqrd = val.multiply(val).shiftLeft(size - 1);
+                    BigInteger valSU = x.shiftRight(shiftX).subtract(valSqrd);
+                    val = val.shiftLeft(size).add(valSU.divide(val));
+                    size *= 2;
+                    iterations++;
+                } while (size < wantedPrecision);
+                if (metrics) {
+                    SqrtDiagnostics.NEWTON_PLUS_PATH.increment();
+                    SqrtDiagnostics.CountIterations(xLen, iterations);
+                }
+            }
+            else if (metrics)
+                SqrtDiagnostics.NEWTON_PATH.increment();
+            val = val.shiftRight(size - wantedPrecision);
+        }
+
+        // Detect a round ups. This function can be further optimized - see article.
+        // For a ~7% speed bump the following line can be removed but round-ups will occur.
+        BigInteger valSqrd = val.multiply(val);
+        if (valSqrd.compareTo(x) > 0) {
+            val = val.subtract(BigInteger.ONE);
+            valSqrd = valSqrd.subtract(val.shiftLeft(1)).subtract(BigInteger.ONE);
+            if (metrics)
+                SqrtDiagnostics.ROUND_UPS.increment();
+        }
+
+        // The square above is reused so verifying is just an add and a compare. Throws a
+        // SqrtVerificationException on failure. As of this writing, there are no known errors.
+        if (SqrtDiagnostics.ShouldVerify())
+            SqrtDiagnostics.Verify(x, val, valSqrd);
+
+        return val;
+    }
+
+
+    public static BigInteger bigIntSqRootFloor(BigInteger x)
+            throws IllegalArgumentException {
+        if (x.compareTo(BigInteger.ZERO) < 0) {
+            throw new IllegalArgumentException("Negative argument.");
+        }
+        // square roots of 0 and 1 are trivial and
+        // y == 0 will cause a divide-by-zero exception
+        if (x.equals(BigInteger.ZERO) || x.equals(BigInteger.ONE)) {
+            return x;
+        } // end if
+        BigInteger two = BigInteger.valueOf(2L);
+        BigInteger y;
+        // starting with y = x / 2 avoids magnitude issues with x squared
+        for (y = x.divide(two); y.compareTo(x.divide(y)) > 0; y = ((x.divide(y)).add(y)).divide(two))
+            ;
+        return y;
+    } // end bigIntSqRootFloor
+
+
+    // Fast BigIntegerToDouble by Ryan Scott White 2/5/2022
+    public static BigInteger DoubleToBigInteger(double testVal) {
+        long bits = Double.doubleToLongBits(testVal);
+        int exp = ((int) (bits >> 52) & 0x7ff) - 1075;
+        BigInteger m = BigInteger.valueOf((bits & ((1L << 52)) - 1) | (1L << 52)).shiftLeft(exp);
+        return (bits >= 0) ? m : m.negate();
+    }
+
+}
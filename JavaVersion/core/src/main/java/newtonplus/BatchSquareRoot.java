@@ -0,0 +1,174 @@
+package newtonplus;
+
+import java.math.BigInteger;
+import java.util.stream.IntStream;
+
+// Square roots for whole arrays of values. Most of the time in the long and double paths of
+// NewtonPlusSqrt goes to compareTo(), doubleValue() and BigInteger.valueOf() rather than the
+// sqrt itself, so values that fit in one or two 64-bit limbs are done here on primitives. The
+// loops are branch-free apart from the size checks so the JIT can unroll them.
+public class BatchSquareRoot {
+
+    // Arrays are split into blocks of this many values when running in parallel.
+    private static final int BLOCK_SIZE = 1 << 12;
+
+    private static final BigInteger TWO_64 = BigInteger.ONE.shiftLeft(64);
+
+    //////// long[] ////////
+
+    // out[i] = floor(sqrt(in[i])) for every i. in and out can be the same array.
+    public static void SqrtAll(long[] in, long[] out) {
+        SqrtAll(in, out, false);
+    }
+
+    // Same as SqrtAll(in, out) but optionally split across cores with a parallel stream.
+    public static void SqrtAll(long[] in, long[] out, boolean parallel) {
+        CheckLengths(in.length, out.length);
+        Blocks(in.length, parallel).forEach(b -> SqrtRange(in, out, b * BLOCK_SIZE, Math.min(in.length, (b + 1) * BLOCK_SIZE)));
+        if (SqrtDiagnostics.metricsEnabled)
+            SqrtDiagnostics.LONG_PATH.add(in.length);
+    }
+
+    private static void SqrtRange(long[] in, long[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            long x = in[i];
+            if (x < 0)
+                throw new ArithmeticException("Negative value at index " + i);
+            out[i] = Sqrt(x);
+        }
+    }
+
+    // The double can be one too high near a square (rounding of x) and, above 2^52, one too low.
+    // sqrt(2^63) rounds down to 3037000499 so v*v never overflows.
+    static long Sqrt(long x) {
+        long v = (long)Math.sqrt((double)x);
+        v -= (v * v > x) ? 1 : 0;
+        v += (x - v * v > 2 * v) ? 1 : 0;
+        return v;
+    }
+
+    //////// Two limbs (unsigned 128 bit) ////////
+
+    // out[i] = floor(sqrt(hi[i] * 2^64 + lo[i])) with hi and lo taken as unsigned. Each root fits
+    // in 64 bits and is returned as an unsigned long (see Long.toUnsignedString()).
+    public static void SqrtAll(long[] hi, long[] lo, long[] out) {
+        SqrtAll(hi, lo, out, false);
+    }
+
+    // Same as SqrtAll(hi, lo, out) but optionally split across cores with a parallel stream.
+    public static void SqrtAll(long[] hi, long[] lo, long[] out, boolean parallel) {
+        CheckLengths(hi.length, lo.length);
+        CheckLengths(hi.length, out.length);
+        Blocks(hi.length, parallel).forEach(b -> {
+            for (int i = b * BLOCK_SIZE, end = Math.min(hi.length, (b + 1) * BLOCK_SIZE); i < end; i++)
+                out[i] = Sqrt(hi[i], lo[i]);
+        });
+        if (SqrtDiagnostics.metricsEnabled)
+            CountPaths(hi, lo);
+    }
+
+    static long Sqrt(long hi, long lo) {
+        if (hi == 0 && lo >= 0)
+            return Sqrt(lo);
+
+        //////// Do the first Sqrt on Hardware ////////
+        // About 53 correct bits, so the root can be off by up to ~2^11.
+        double s = Math.sqrt(UnsignedToDouble(hi) * 0x1p64 + UnsignedToDouble(lo));
+        long v = (s >= 0x1p64) ? -1L : (s >= 0x1p63) ? (long)(s - 0x1p63) ^ Long.MIN_VALUE : (long)s;
+
+        //////// Newton Plus Iteration ////////
+        // v += (x - v^2) / 2v, where x - v^2 is small enough to be done in a double.
+        long sqLo = v * v;
+        long sqHi = UnsignedMultiplyHigh(v, v);
+        long eLo = lo - sqLo;
+        long eHi = hi - sqHi - (Long.compareUnsigned(lo, sqLo) < 0 ? 1 : 0);
+        double e = eHi * 0x1p64 + UnsignedToDouble(eLo);
+        long step = (long)Math.floor(e / (2 * UnsignedToDouble(v)));
+        v = (step > 0 && Long.compareUnsigned(v + step, v) < 0) ? -1L : v + step; // no wrap past 2^64-1
+
+        //////// Correct the last unit or two ////////
+        while (Compare(UnsignedMultiplyHigh(v, v), v * v, hi, lo) > 0)
+            v--;
+        while (v != -1L && Compare(UnsignedMultiplyHigh(v + 1, v + 1), (v + 1) * (v + 1), hi, lo) <= 0)
+            v++;
+        return v;
+    }
+
+    private static int Compare(long aHi, long aLo, long bHi, long bLo) {
+        int c = Long.compareUnsigned(aHi, bHi);
+        return (c != 0) ? c : Long.compareUnsigned(aLo, bLo);
+    }
+
+    // Math.unsignedMultiplyHigh() is not available until Java 18.
+    private static long UnsignedMultiplyHigh(long a, long b) {
+        return Math.multiplyHigh(a, b) + ((a >> 63) & b) + ((b >> 63) & a);
+    }
+
+    private static double UnsignedToDouble(long v) {
+        double d = (double)(v & Long.MAX_VALUE);
+        return (v < 0) ? d + 0x1p63 : d;
+    }
+
+    //////// BigInteger[] ////////
+
+    // out[i] = floor(sqrt(in[i])). Values under 129 bits use the primitive paths above and the
+    // rest go to SunsetQuestSqrt. in and out can be the same array.
+    public static void SqrtAll(BigInteger[] in, BigInteger[] out) {
+        SqrtAll(in, out, false);
+    }
+
+    // Same as SqrtAll(in, out) but optionally split across cores with a parallel stream.
+    public static void SqrtAll(BigInteger[] in, BigInteger[] out, boolean parallel) {
+        CheckLengths(in.length, out.length);
+        Blocks(in.length, parallel).forEach(b -> {
+            for (int i = b * BLOCK_SIZE, end = Math.min(in.length, (b + 1) * BLOCK_SIZE); i < end; i++) {
+                BigInteger x = in[i];
+                if (x.signum() < 0)
+                    throw new ArithmeticException("Negative BigInteger at index " + i);
+                int xLen = x.bitLength();
+                if (xLen < 64) {
+                    out[i] = BigInteger.valueOf(Sqrt(x.longValue()));
+                } else if (xLen <= 128) {
+                    long v = Sqrt(x.shiftRight(64).longValue(), x.longValue());
+                    out[i] = (v < 0) ? BigInteger.valueOf(v).add(TWO_64) : BigInteger.valueOf(v);
+                } else {
+                    out[i] = BigIntegerSquareRoot.SunsetQuestSqrt(x);
+                }
+            }
+        });
+        if (SqrtDiagnostics.metricsEnabled)
+            CountPaths(in);
+    }
+
+    // Counted in a second pass so the loops above stay the same when metrics are off. Values that
+    // fit a long are long path calls, other primitive ones double path calls. Larger BigIntegers
+    // were counted by SunsetQuestSqrt.
+    private static void CountPaths(long[] hi, long[] lo) {
+        long small = 0;
+        for (int i = 0; i < hi.length; i++)
+            small += (hi[i] == 0 && lo[i] >= 0) ? 1 : 0;
+        SqrtDiagnostics.LONG_PATH.add(small);
+        SqrtDiagnostics.DOUBLE_PATH.add(hi.length - small);
+    }
+
+    private static void CountPaths(BigInteger[] in) {
+        long small = 0, twoLimb = 0;
+        for (BigInteger x : in) {
+            int xLen = x.bitLength();
+            small += (xLen < 64) ? 1 : 0;
+            twoLimb += (xLen >= 64 && xLen <= 128) ? 1 : 0;
+        }
+        SqrtDiagnostics.LONG_PATH.add(small);
+        SqrtDiagnostics.DOUBLE_PATH.add(twoLimb);
+    }
+
+    private static IntStream Blocks(int length, boolean parallel) {
+        IntStream blocks = IntStream.range(0, (length + BLOCK_SIZE - 1) / BLOCK_SIZE);
+        return parallel ? blocks.parallel() : blocks;
+    }
+
+    private static void CheckLengths(int inLength, int outLength) {
+        if (inLength != outLength)
+            throw new IllegalArgumentException("Array lengths differ: " + inLength + " and " + outLength);
+    }
+}
@@ -0,0 +1,94 @@
+package newtonplus;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+// Java version of BigFloatingPointSquareRoot.cs. A floating point value here is an in-precision
+// BigInteger (the mantissa) and a binary shift: value = val * 2^shift.
+public class BigFloatingPointSquareRoot {
+
+    // The in-precision bits and the shift to scale them correctly.
+    public record SqrtResult(BigInteger val, int shift) { }
+
+    /**
+     * Calculates the square root of a big floating point number. The result is truncated (not
+     * rounded) to wantedPrecision bits. The integer square root is only ever given about
+     * 2*wantedPrecision bits so no time is spent on bits that are thrown away.
+     * @param x The input value. This would be the in-precision part of the bits.
+     * @param shift The shift that should be applied to the input value. (2 would be shift left by 2)
+     * @param wantedPrecision The number of in-precision bits to return. 0 uses the bit length of x.
+     * @return (in-precision bits as Big Integer, and the shift to scale it correctly)
+     */
+    public static SqrtResult SunsetQuestSqrtFloat(BigInteger x, int shift, int wantedPrecision) {
+        if (x.signum() < 0)
+            throw new ArithmeticException("Negative BigInteger");
+        if (wantedPrecision < 0)
+            throw new IllegalArgumentException("wantedPrecision must be 0 or more.");
+
+        int xLen = x.bitLength();
+        if (wantedPrecision == 0)
+            wantedPrecision = xLen;
+
+        if (x.signum() == 0)
+            return new SqrtResult(BigInteger.ZERO, wantedPrecision);
+
+        // Line up x so its integer square root is exactly wantedPrecision bits long. If x has more
+        // than 2*wantedPrecision bits this is a right shift and the extra bits are never used.
+        int totalLen = shift + xLen;
+        int needToShiftInputBy = (2 * wantedPrecision - xLen) - (totalLen & 1);
+        BigInteger val = BigIntegerSquareRoot.SunsetQuestSqrt(x.shiftLeft(needToShiftInputBy));
+        int retShift = ((totalLen + (totalLen & 1)) >> 1) - wantedPrecision;
+        return new SqrtResult(val, retShift);
+    }
+
+    /**
+     * A BigDecimal adapter that can be used in place of BigDecimal.sqrt(MathContext). The square
+     * root is done on a scaled BigInteger with two guard digits, and a sticky digit is added when
+     * the result is inexact so every RoundingMode (including UNNECESSARY) rounds correctly.
+     */
+    public static BigDecimal SunsetQuestSqrt(BigDecimal x, MathContext mc) {
+        if (x.signum() < 0)
+            throw new ArithmeticException("Attempted square root of negative BigDecimal");
+        if (mc.getPrecision() == 0)
+            return x.sqrt(mc); // only exact results are allowed here
+        int preferredScale = x.scale() / 2;
+        if (x.signum() == 0)
+            return BigDecimal.valueOf(0L, preferredScale);
+
+        // Scale the unscaled value by 10^m so it has about 2*(precision+2) digits and (scale + m)
+        // is even, then the root of that integer is the root of x scaled by 10^((scale+m)/2). When
+        // x has more digits than that, m is negative and the extra digits are dropped up front.
+        BigInteger unscaled = x.unscaledValue();
+        int m = 2 * (mc.getPrecision() + 2) - x.precision();
+        if (((x.scale() + m) & 1) != 0)
+            m++;
+        BigInteger n;
+        boolean exact = true;
+        if (m >= 0) {
+            n = unscaled.multiply(BigInteger.TEN.pow(m));
+        } else {
+            BigInteger[] qr = unscaled.divideAndRemainder(BigInteger.TEN.pow(-m));
+            n = qr[0];
+            exact = qr[1].signum() == 0;
+        }
+        int resultScale = (x.scale() + m) / 2;
+
+        // floor(sqrt(floor(n))) == floor(sqrt(n)) so the dropped digits only affect exactness.
+        BigInteger root = BigIntegerSquareRoot.SunsetQuestSqrt(n);
+        exact &= root.multiply(root).equals(n);
+        if (!exact) {
+            root = root.multiply(BigInteger.TEN).add(BigInteger.ONE);
+            resultScale++;
+        }
+
+        BigDecimal result = new BigDecimal(root, resultScale).round(mc);
+
+        // Same as BigDecimal.sqrt(): move toward the preferred scale as far as the precision allows.
+        if (result.scale() != preferredScale)
+            result = result.stripTrailingZeros().add(BigDecimal.valueOf(0L, preferredScale),
+                    new MathContext(mc.getPrecision(), RoundingMode.UNNECESSARY));
+        return result;
+    }
+}
@@ -0,0 +1,171 @@
+package newtonplus;
+
+import java.math.BigInteger;
+
+// k-th roots and inverse square roots built the same way as NewtonPlusSqrt: the top bits are done
+// on hardware, then each Newton step roughly doubles the precision using only as many of the top
+// bits of x as that precision needs. Only the last step works on all of x.
+public class BigIntegerRoots {
+
+    // The hardware seed is good for about 50 bits; it is only trusted for this many.
+    private static final int SEED_BITS = 40;
+
+    // The last Newton step makes this many bits more than asked for. Unless they are within a
+    // few units of a rounding boundary they prove the floor is right without checking it with a
+    // full size multiply. (The same idea as the round-up detector in NewtonPlusSqrt.)
+    private static final int EXTRA_BITS = 16;
+
+    /**
+     * Returns floor(x^(1/k)).
+     * @param x The input value. Must not be negative.
+     * @param k The root to take. 2 is the square root, 3 the cube root, etc.
+     */
+    public static BigInteger NthRoot(BigInteger x, int k) {
+        if (k < 1)
+            throw new IllegalArgumentException("k must be 1 or more.");
+        if (x.signum() < 0)
+            throw new ArithmeticException("Negative BigInteger");
+        if (k == 1)
+            return x;
+        if (k == 2)
+            return BigIntegerSquareRoot.SunsetQuestSqrt(x);
+        int xLen = x.bitLength();
+        if (xLen <= k) // 0 <= x < 2^k
+            return (x.signum() == 0) ? BigInteger.ZERO : BigInteger.ONE;
+
+        int rootLen = (xLen - 1) / k + 1;
+        // Newton error grows with k, so a larger k needs a few more guard bits per step.
+        int guard = Math.min(16, 4 + (32 - Integer.numberOfLeadingZeros(k)));
+        int[] sizes = Sizes(rootLen + EXTRA_BITS, guard);
+        int step = sizes.length - 1;
+
+        //////// Do the first root on Hardware ////////
+        // x ~= d * 2^(k*m + rem) so root ~= 2^((log2(d) + rem) / k) * 2^m. Keeping the big part of
+        // the exponent out of the double keeps the seed accurate for any size of x and k.
+        int e = Math.max(0, xLen - 53);
+        double d = x.shiftRight(e).doubleValue();
+        int m = e / k;
+        int rem = e % k;
+        double r = Math.pow(2, (Math.log(d) / Math.log(2) + rem) / k);
+        int size = sizes[step];
+        BigInteger val = BigInteger.valueOf(Math.max(1, (long)Math.scalb(r, m - (rootLen - size))));
+
+        //////// Newton Iterations ////////
+        // v = ((k-1)v + x_s / v^(k-1)) / k, where x_s = x >> k(rootLen - s) has a root of s bits.
+        // On the last step s is rootLen + EXTRA_BITS so that shift is to the left.
+        BigInteger kBI = BigInteger.valueOf(k);
+        BigInteger kMinus1 = BigInteger.valueOf(k - 1);
+        while (step > 0) {
+            int newSize = sizes[--step];
+            val = val.shiftLeft(newSize - size);
+            size = newSize;
+            BigInteger xs = x.shiftRight(k * (rootLen - size));
+            val = val.multiply(kMinus1).add(xs.divide(val.pow(k - 1))).divide(kBI);
+            if (val.signum() == 0)
+                val = BigInteger.ONE;
+        }
+
+        //////// Shrink result to wanted Precision ////////
+        boolean nearBoundary = NearBoundary(val);
+        val = val.shiftRight(EXTRA_BITS);
+        if (!nearBoundary)
+            return val;
+
+        //////// Correct the last unit or two ////////
+        while (val.pow(k).compareTo(x) > 0)
+            val = val.subtract(BigInteger.ONE);
+        while (val.add(BigInteger.ONE).pow(k).compareTo(x) <= 0)
+            val = val.add(BigInteger.ONE);
+        return val;
+    }
+
+    /**
+     * Returns floor(2^bits / sqrt(x)), so 1/sqrt(x) with bits fractional bits. The result has
+     * about bits - xLen/2 bits.
+     * @param x The input value. Must be positive.
+     * @param bits The scale of the result.
+     */
+    public static BigInteger InvSqrt(BigInteger x, int bits) {
+        if (x.signum() <= 0)
+            throw new ArithmeticException(x.signum() == 0 ? "Division by zero" : "Negative BigInteger");
+        if (bits < 0)
+            throw new IllegalArgumentException("bits must be 0 or more.");
+        int xLen = x.bitLength();
+        int resultLen = bits - (xLen - 1) / 2 + 1; // the result has this many bits, or one less
+        if (resultLen <= SEED_BITS) // floor(sqrt(floor(y))) == floor(sqrt(y))
+            return BigIntegerSquareRoot.SunsetQuestSqrt(BigInteger.ONE.shiftLeft(2 * bits).divide(x));
+
+        final int GUARD = 4;
+        int[] sizes = Sizes(resultLen + EXTRA_BITS, GUARD);
+        int step = sizes.length - 1;
+
+        //////// Do the first 1/Sqrt on Hardware ////////
+        // At size s, val is about 2^(bits - (resultLen - s)) / sqrt(x), the top s bits of the result.
+        int size = sizes[step];
+        int e = Math.max(0, xLen - 53);
+        e += e & 1;
+        double d = x.shiftRight(e).doubleValue();
+        BigInteger val = BigInteger.valueOf((long)Math.scalb(1 / Math.sqrt(d), bits - (resultLen - size) - e / 2));
+
+        //////// Divide-less Newton Iterations ////////
+        // y = y + y(1 - x*y^2/2^2b)/2 where y = val << t is the last result moved up to the new
+        // size. Everything is done with val (half the size of y), x is cut down to its top
+        // (size + GUARD) bits, and only the top bits of the error term that can reach the
+        // result are multiplied.
+        while (step > 0) {
+            int newSize = sizes[--step];
+            int t = newSize - size;
+            size = newSize;
+            int b = bits - (resultLen - size);
+            int xShift = xLen - (size + GUARD);
+            BigInteger xt = x.shiftRight(xShift); // x ~= xt * 2^xShift
+            int scale = 2 * b - xShift;           // x*y^2 ~= xt*val^2 * 2^2t ~= 2^scale
+            BigInteger err = BigInteger.ONE.shiftLeft(scale).subtract(xt.multiply(val.multiply(val)).shiftLeft(2 * t));
+            int errShift = scale + 1 - t;         // y*err/2^(scale+1) == val*err/2^errShift
+            int drop = Math.max(0, errShift - val.bitLength() - GUARD);
+            val = val.shiftLeft(t).add(val.multiply(err.shiftRight(drop)).shiftRight(errShift - drop));
+        }
+
+        //////// Shrink result to wanted Precision ////////
+        boolean nearBoundary = NearBoundary(val);
+        val = val.shiftRight(EXTRA_BITS);
+        if (!nearBoundary)
+            return val;
+
+        //////// Correct the last unit or two ////////
+        // val is right when val^2 * x <= 2^2b < (val+1)^2 * x. Moving val by one changes val^2 * x
+        // by (2val -/+ 1) * x so only the first check needs the full multiply.
+        BigInteger twoPow2b = BigInteger.ONE.shiftLeft(2 * bits);
+        BigInteger valSqrdX = val.multiply(val).multiply(x);
+        while (valSqrdX.compareTo(twoPow2b) > 0) {
+            valSqrdX = valSqrdX.subtract(val.shiftLeft(1).subtract(BigInteger.ONE).multiply(x));
+            val = val.subtract(BigInteger.ONE);
+        }
+        while (true) {
+            BigInteger next = valSqrdX.add(val.shiftLeft(1).add(BigInteger.ONE).multiply(x));
+            if (next.compareTo(twoPow2b) > 0)
+                return val;
+            valSqrdX = next;
+            val = val.add(BigInteger.ONE);
+        }
+    }
+
+    // True when the EXTRA_BITS below the result are within 8 of rolling over either way.
+    private static boolean NearBoundary(BigInteger val) {
+        final int MASK = (1 << EXTRA_BITS) - 1;
+        return ((val.intValue() + 8) & MASK) < 16;
+    }
+
+    // The precisions each Newton step works at, from finalSize (first) down to the hardware seed
+    // size (last). Each is half the one before plus guard bits.
+    private static int[] Sizes(int finalSize, int guard) {
+        int count = 1;
+        for (int s = finalSize; s > SEED_BITS; s = (s >> 1) + guard)
+            count++;
+        int[] sizes = new int[count];
+        sizes[0] = finalSize;
+        for (int i = 1; i < count; i++)
+            sizes[i] = (sizes[i - 1] >> 1) + guard;
+        return sizes;
+    }
+}
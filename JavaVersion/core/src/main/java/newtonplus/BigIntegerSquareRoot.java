@@ -0,0 +1,310 @@
+package newtonplus;
+
+import java.math.BigInteger;
+
+// Java port of SunsetQuestSqrt() from BigIntegerSquareRoot.cs. Below the inverse cutoff it is
+// NewtonPlusSqrt without the extra verification multiplies; above it the final Newton steps use a
+// pre-computed inverse of x so no divisions are needed in the loop.
+public class BigIntegerSquareRoot {
+
+    // Inputs with at least this many bits use the divide-less (inverse) iterations. In C# this is
+    // 1<<15 but Java's BigInteger.divide() uses Burnikel-Ziegler and is only ~2.6x a multiply, so
+    // on JDK 17 the inverse path measured ~3x slower than Newton Plus from 16K up to 16M bits. It
+    // is therefore off by default; use SunsetQuestSqrt(x, cutoff) on a JVM where that changes.
+    static final int INVERSE_CUTOFF_BITS = Integer.MAX_VALUE;
+
+    // The divide-less path gives wrong answers below about 13,500 bits so it is never used under
+    // this size, whatever cutoff is passed in. (Same as the C# cutoff.)
+    static final int INVERSE_MIN_BITS = 1 << 15;
+
+    // A high performance BigInteger square root function.
+    public static BigInteger SunsetQuestSqrt(BigInteger x) {
+        return SunsetQuestSqrt(x, INVERSE_CUTOFF_BITS);
+    }
+
+    // Same as SunsetQuestSqrt(x) but inputs of inverseCutoffBits or more (and at least
+    // INVERSE_MIN_BITS) use the divide-less path.
+    public static BigInteger SunsetQuestSqrt(BigInteger x, int inverseCutoffBits) {
+        return SunsetQuestSqrt(x, inverseCutoffBits, null);
+    }
+
+    // Returns {floor(sqrt(x)), x - floor(sqrt(x))^2}, the same as BigInteger.sqrtAndRemainder().
+    public static BigInteger[] SqrtRem(BigInteger x) {
+        BigInteger[] valSqrd = new BigInteger[1];
+        BigInteger val = SunsetQuestSqrt(x, INVERSE_CUTOFF_BITS, valSqrd);
+        return new BigInteger[] { val, x.subtract(valSqrd[0]) };
+    }
+
+    // Returns true if x is the square of an integer. Fewer than 1 in 100 non-squares get past the
+    // quadratic residue filters to the square root.
+    public static boolean IsPerfectSquare(BigInteger x) {
+        if (x.signum() < 0)
+            return false;
+        if (!IsSquareMod(SQUARES_MOD_64, x.intValue() & 63))
+            return false;
+        int r = x.remainder(BigInteger.valueOf(63 * 65 * 11)).intValue();
+        if (!IsSquareMod(SQUARES_MOD_63, r % 63) || !IsSquareMod(SQUARES_MOD_65, r % 65) || !IsSquareMod(SQUARES_MOD_11, r % 11))
+            return false;
+        BigInteger[] valSqrd = new BigInteger[1];
+        SunsetQuestSqrt(x, INVERSE_CUTOFF_BITS, valSqrd);
+        return valSqrd[0].equals(x);
+    }
+
+    //////// Quadratic residue filters ////////
+    // Bit r of SQUARES_MOD_m is set when r is a square mod m.
+    private static final long[] SQUARES_MOD_64 = SquaresMask(64);
+    private static final long[] SQUARES_MOD_63 = SquaresMask(63);
+    private static final long[] SQUARES_MOD_65 = SquaresMask(65);
+    private static final long[] SQUARES_MOD_11 = SquaresMask(11);
+
+    private static long[] SquaresMask(int m) {
+        long[] mask = new long[(m + 63) >> 6];
+        for (int i = 0; i < m; i++)
+            mask[(i * i % m) >> 6] |= 1L << (i * i % m);
+        return mask;
+    }
+
+    private static boolean IsSquareMod(long[] mask, int r) {
+        return (mask[r >> 6] >>> r & 1) != 0;
+    }
+
+    // When valSqrdOut is not null the square of the result is returned in valSqrdOut[0]. Most
+    // paths already square the result to correct it, so this usually costs nothing extra.
+    private static BigInteger SunsetQuestSqrt(BigInteger x, int inverseCutoffBits, BigInteger[] valSqrdOut) {
+        if (x.compareTo(BigInteger.valueOf(144838757784765629L)) < 0) { // 1.448e17 = ~1<<57
+            if (x.signum() < 0)
+                throw new ArithmeticException("Negative BigInteger");
+            long xAsLong = x.longValue();
+            long vInt = (long)Math.sqrt(xAsLong);
+            if (vInt * vInt > xAsLong)
+                vInt--;
+            if (SqrtDiagnostics.metricsEnabled)
+                SqrtDiagnostics.LONG_PATH.increment();
+            if (valSqrdOut != null)
+                valSqrdOut[0] = BigInteger.valueOf(vInt * vInt);
+            return BigInteger.valueOf(vInt);  }
+
+        boolean metrics = SqrtDiagnostics.metricsEnabled;
+        double xAsDub = x.doubleValue();
+        if (xAsDub < 2.1267e37) // 2.12e37 largest here since sqrt(long.max*long.max) > long.max
+        {
+            if (metrics)
+                SqrtDiagnostics.DOUBLE_PATH.increment();
+            long vInt = (long)Math.sqrt(xAsDub);
+            BigInteger v = BigInteger.valueOf((vInt + x.divide(BigInteger.valueOf(vInt)).longValue()) >> 1);
+            return RoundDown(x, v, v.multiply(v), valSqrdOut);
+        }
+
+        if (xAsDub < 4.3322e127) {
+            if (metrics)
+                SqrtDiagnostics.DOUBLE_PATH.increment();
+            BigInteger v = App.DoubleToBigInteger(Math.sqrt(xAsDub));
+            v = x.divide(v).add(v).shiftRight(1);
+            if (xAsDub > 2e63) {
+                v = x.divide(v).add(v).shiftRight(1);  }
+            return RoundDown(x, v, v.multiply(v), valSqrdOut);
+        }
+
+        int xLen = x.bitLength();
+        int wantedPrecision = (xLen + 1) / 2;
+        int xLenMod = xLen + (xLen & 1) + 1;
+
+        //////// Do the first Sqrt on Hardware ////////
+        long tempX = x.shiftRight(xLenMod - 63).longValue();
+        double tempSqrt1 = Math.sqrt(tempX);
+        long valLong = Double.doubleToLongBits(tempSqrt1) & 0x1fffffffffffffL;
+        if (valLong == 0)
+            valLong = 1L << 53;
+
+        //////// Classic Newton Iterations ////////
+        BigInteger val = BigInteger.valueOf(valLong).shiftLeft(53 - 1)
+                .add((x.shiftRight(xLenMod - (3 * 53))).divide(BigInteger.valueOf(valLong)));
+        val = val.shiftLeft(106 - 1).add(x.shiftRight(xLenMod - (3 * 106)).divide(val));
+        val = val.shiftLeft(212 - 1).add(x.shiftRight(xLenMod - (3 * 212)).divide(val));
+        int size = 424;
+
+        boolean runRoundUpDetector;
+        if (xAsDub < 4e254) // 4e254 = 1<<845.77
+        {
+            if (metrics)
+                SqrtDiagnostics.NEWTON_PATH.increment();
+            /////// There are a few extra digits here, lets save them ///////
+            int oversidedBy = size - wantedPrecision;
+            runRoundUpDetector = (val.shiftRight(oversidedBy - 8).intValue() & 0xff) == 0;
+        }
+        else if (xLen < Math.max(inverseCutoffBits, INVERSE_MIN_BITS))
+        {
+            int numOfNewtonSteps = 31 - Integer.numberOfLeadingZeros(wantedPrecision / size) + 2;
+
+            ////// Apply Starting Size ////////
+            int startingSize = (wantedPrecision >> numOfNewtonSteps) + 2;
+            int needToShiftBy = size - startingSize;
+            val = val.shiftRight(needToShiftBy);
+            size = startingSize;
+            int iterations = 0;
+            do {
+                //////// Newton Plus Iteration ////////
+                int shiftX = xLenMod - (3 * size);
+                BigInteger valSqrd = val.multiply(val).shiftLeft(size - 1);
+                BigInteger valSU = x.shiftRight(shiftX).subtract(valSqrd);
+                val = val.shiftLeft(size).add(valSU.divide(val));
+                size <<= 1;
+                iterations++;
+            } while (size < wantedPrecision);
+            if (metrics) {
+                SqrtDiagnostics.NEWTON_PLUS_PATH.increment();
+                SqrtDiagnostics.CountIterations(xLen, iterations);
+            }
+
+            /////// There are a few extra digits here, lets save them ///////
+            int oversidedBy = size - wantedPrecision;
+            BigInteger saveDroppedDigitsBI = val.and(BigInteger.ONE.shiftLeft(oversidedBy).subtract(BigInteger.ONE));
+            int downby = (oversidedBy < 64) ? (oversidedBy >> 2) + 1 : (oversidedBy - 32);
+            runRoundUpDetector = saveDroppedDigitsBI.shiftRight(downby).signum() == 0;
+        }
+        else
+        {
+            if (metrics)
+                SqrtDiagnostics.INVERSE_PATH.increment();
+            val = val.shiftLeft(424 - 1).add(x.shiftRight(xLenMod - (3 * 424)).divide(val));
+            size <<= 1;
+
+            final int EXTRA_BITS_TO_REMOVE = 2; // 0=fails, 1=slow, 2=OK
+
+            ////// Apply Starting Size ////////
+            int startingSize = wantedPrecision;
+            int numOfNewtonSteps = 0;
+            while (startingSize > size) {
+                startingSize = (startingSize >> 1) + EXTRA_BITS_TO_REMOVE;
+                numOfNewtonSteps++;
+            }
+
+            int needToShiftBy = size - startingSize;
+            val = val.shiftRight(needToShiftBy);
+            size = startingSize;
+            int finalSize = wantedPrecision + (4 << numOfNewtonSteps) + 4;
+            int xInv2Shift = finalSize - xLen % 2 - 64;
+
+            //////// Divide-less Iterations ////////
+            BigInteger xInv = InverseForLargeNumbersOnly(x, xLen, finalSize - 64);
+            BigInteger THREE = BigInteger.valueOf(3);
+            do {
+                size <<= 1;
+                BigInteger xInvShift2 = xInv.shiftRight(xInv2Shift - size);
+                BigInteger valSqrd = val.multiply(val);
+                BigInteger rightSide = THREE.shiftLeft(size).subtract(xInvShift2.multiply(valSqrd).shiftRight(size));
+                val = val.multiply(rightSide).shiftRight((size >> 1) + 1 + EXTRA_BITS_TO_REMOVE);
+                size -= EXTRA_BITS_TO_REMOVE;
+            } while (size < wantedPrecision);
+
+            //////// Shrink result to wanted Precision ////////
+            val = val.shiftRight(size - wantedPrecision);
+
+            // The divide-less result can land one below as well as one above (e.g. on perfect
+            // squares) so both directions are checked here with a single squaring.
+            BigInteger valSqrd = val.multiply(val);
+            BigInteger nextSqrd = valSqrd.add(val.shiftLeft(1)).add(BigInteger.ONE);
+            if (nextSqrd.compareTo(x) <= 0) {
+                if (valSqrdOut != null)
+                    valSqrdOut[0] = nextSqrd;
+                return val.add(BigInteger.ONE);
+            }
+            return RoundDown(x, val, valSqrd, valSqrdOut);
+        }
+
+        //////// Shrink result to wanted Precision ////////
+        val = val.shiftRight(size - wantedPrecision);
+
+        //////// Detect round-ups ////////
+        if (runRoundUpDetector || valSqrdOut != null)
+            return RoundDown(x, val, val.multiply(val), valSqrdOut);
+
+        return val;
+    }
+
+    // Returns val, or val-1 if val is one too high, given valSqrd = val*val.
+    private static BigInteger RoundDown(BigInteger x, BigInteger val, BigInteger valSqrd, BigInteger[] valSqrdOut) {
+        if (valSqrd.compareTo(x) <= 0) {
+            if (valSqrdOut != null)
+                valSqrdOut[0] = valSqrd;
+            return val;
+        }
+        if (SqrtDiagnostics.metricsEnabled)
+            SqrtDiagnostics.ROUND_UPS.increment();
+        if (valSqrdOut != null)
+            valSqrdOut[0] = valSqrd.subtract(val.shiftLeft(1)).add(BigInteger.ONE);
+        return val.subtract(BigInteger.ONE);
+    }
+
+
+    // Returns about finalSize bits of 1/x (scaled by 2^(xLen + finalSize)). Used by SunsetQuestSqrt
+    // for large inputs only.
+    static BigInteger InverseForLargeNumbersOnly(BigInteger x, int xLen, int finalSize) {
+        // Tuning constants
+        final int EXTRA_START = 2;      // seems faster with 2 vs 0
+        final int START_CUTOFF = 400;
+        final int NEWTON_CUTOFF = 800;
+        final int EXTRA_TO_REMOVE1 = 2; // error detected in sqrt if 0
+        final int EXTRA_TO_REMOVE2 = 1; // Errors on large numbers if removed!
+        final int BOOST_LARGER_NUMS = 2;
+
+        //////// Get Starting Size ////////
+        int desiredStartSize = finalSize + 1 + (EXTRA_START * 2);
+        while (desiredStartSize > START_CUTOFF)
+            desiredStartSize = ((desiredStartSize + 1) >> 1) + BOOST_LARGER_NUMS;
+        int curSize = desiredStartSize;
+
+        BigInteger scaledOne2 = BigInteger.ONE.shiftLeft((curSize << 1) + (EXTRA_START * 2));
+        BigInteger result = scaledOne2.divide(x.shiftRight(xLen - curSize - 1 - EXTRA_START));
+        curSize += EXTRA_START;
+
+        //////// Newton Inverse ////////
+        do {
+            int doubleCurSize = curSize << 1;
+
+            BigInteger scalingFactor = BigInteger.ONE.shiftLeft(doubleCurSize + 1);
+            BigInteger xTimesY = x.shiftRight(xLen - doubleCurSize).multiply(result).shiftRight(curSize - 1);
+            BigInteger twoMinusXy = scalingFactor.subtract(xTimesY);
+            result = result.multiply(twoMinusXy).shiftRight(curSize + EXTRA_TO_REMOVE1);
+            curSize = doubleCurSize - EXTRA_TO_REMOVE1;
+        } while (curSize <= NEWTON_CUTOFF);
+
+        // Lets make sure we are 100% accurate at this point - back off until we see both a 0 and 1
+        long last64 = result.longValue();
+        int reduceBy = Long.numberOfTrailingZeros((last64 & 1) == 0 ? last64 : ~last64) + 1;
+        if (reduceBy < 32) // 32 is flexible
+        {
+            result = result.shiftRight(reduceBy);
+            curSize -= reduceBy;
+        }
+        else
+        {
+            // if we have something with many trailing zeros or ones, lets fallback to the safe
+            // classic method to ensure correctness.
+            return BigInteger.ONE.shiftLeft(xLen + ((finalSize + 1 == 0) ? xLen : finalSize + 1) - 1).divide(x);
+        }
+
+        //////// NewtonPlus Inverse ////////
+        while (true) {
+            int doubleCurSize = curSize << 1;
+
+            // We need insert our "1" in the middle, we do this by incrementing the upper half with a 1
+            result = result.add(BigInteger.ONE);
+            BigInteger mask = BigInteger.ONE.shiftLeft(curSize + 1).subtract(BigInteger.ONE);
+            BigInteger xTimesY = x.shiftRight(xLen - doubleCurSize).multiply(result).shiftRight(curSize - 1).and(mask);
+
+            if (doubleCurSize - EXTRA_TO_REMOVE2 > finalSize + 1)
+                return result.shiftLeft(curSize << 1).subtract(result.multiply(xTimesY))
+                        .shiftRight(doubleCurSize + curSize - finalSize - 1);
+
+            result = result.shiftLeft(doubleCurSize).subtract(result.multiply(xTimesY)).shiftRight(curSize + EXTRA_TO_REMOVE2);
+            curSize = doubleCurSize - EXTRA_TO_REMOVE2;
+
+            // back off until we see both a zero and one bit
+            last64 = result.longValue();
+            reduceBy = Long.numberOfTrailingZeros((last64 & 1) == 0 ? last64 : ~last64) + 1;
+            result = result.shiftRight(reduceBy);
+            curSize -= reduceBy;
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package newtonplus;
+
+import java.math.BigInteger;
+
+/**
+ * An integer square root that works directly on int[] magnitudes (little-endian 32-bit limbs)
+ * using a reusable workspace, so after the first call nothing is allocated. Intended for
+ * mid-size inputs (64 to a few thousand bits) called very often, where GC pressure from the
+ * immutable BigInteger steps in NewtonPlusSqrt matters more than asymptotic speed.
+ *
+ * It is the same idea as NewtonPlusSqrt: a hardware sqrt for the first 32 bits followed by
+ * Newton steps that roughly double the number of limbs each time and only use as much of x as
+ * the current precision needs. Each step leaves a guard limb so the estimate never drifts more
+ * than +1 above the answer, and a single squaring at the end fixes any round-up.
+ *
+ * An instance is not thread safe; keep one per thread (e.g. in a ThreadLocal).
+ */
+public class MutableSquareRoot {
+
+    private static final long LONG_MASK = 0xffffffffL;
+
+    private int[] xn = new int[0];   // x shifted so its top 2 bits are not both zero, 2*m limbs
+    private int[] y = new int[0];    // current root estimate
+    private int[] q = new int[0];    // quotient, becomes the next estimate
+    private int[] un = new int[0];   // dividend/remainder for the division
+    private int[] sq = new int[0];   // y*y for the final round-up check
+    private int[] xIn = new int[0];  // used by Sqrt(BigInteger) only
+    private int[] out = new int[0];  // used by Sqrt(BigInteger) only
+    private final int[] levels = new int[32];
+
+    public MutableSquareRoot() {
+        this(4096);
+    }
+
+    // maxBits is the largest input expected; larger inputs still work but grow the workspace.
+    public MutableSquareRoot(int maxBits) {
+        EnsureCapacity((maxBits + 63) / 64);
+    }
+
+    /**
+     * Writes floor(sqrt(x)) into dst.
+     * @param dst Receives the root as little-endian 32-bit limbs. Needs (xLen + 1) / 2 limbs.
+     * @param x The input as little-endian 32-bit limbs (unsigned).
+     * @param xLen The number of limbs of x to use.
+     * @return The number of limbs written to dst (0 when x is zero).
+     */
+    public int SqrtInto(int[] dst, int[] x, int xLen) {
+        while (xLen > 0 && x[xLen - 1] == 0)
+            xLen--;
+        if (xLen == 0)
+            return 0;
+
+        int bitLen = 32 * xLen - Integer.numberOfLeadingZeros(x[xLen - 1]);
+        if (bitLen <= 64) {
+            long v = (x[0] & LONG_MASK) | (xLen > 1 ? (long)x[1] << 32 : 0);
+            dst[0] = (int)Sqrt64(v);
+            return 1;
+        }
+
+        //////// Normalize: shift x left by an even amount so it fills 2*m limbs ////////
+        int m = (bitLen + 63) / 64;
+        int xnLen = 2 * m;
+        int normShift = (64 * m - bitLen) & ~1;
+        EnsureCapacity(m);
+        ShiftLeftInto(xn, x, xLen, xnLen, normShift);
+
+        //////// Do the first Sqrt on hardware (top 64 bits -> 32 bit root) ////////
+        y[0] = (int)Sqrt64((xn[xnLen - 1] & LONG_MASK) << 32 | (xn[xnLen - 2] & LONG_MASK));
+        int size = 1;
+
+        // Each step from size j to j' needs j' <= 2j-1 (one guard limb), except the first 1->2.
+        int levelCount = 0;
+        for (int k = m; k > 2; k = (k >> 1) + 1)
+            levels[levelCount++] = k;
+        if (m >= 2)
+            levels[levelCount++] = 2;
+
+        //////// Newton Iterations: y' = (y*B^d + (top of x)/y) / 2 ////////
+        for (int level = levelCount - 1; level >= 0; level--) {
+            int newSize = levels[level];
+            int d = newSize - size;
+            int dividendLen = newSize + size;
+
+            System.arraycopy(xn, xnLen - dividendLen, un, 0, dividendLen);
+            un[dividendLen] = 0;
+            int qLen = dividendLen - size + 1;    // = newSize + 1
+            q[qLen] = 0;
+            DivideInto(q, un, dividendLen, y, size);
+
+            // q += y << (32*d), then q >>= 1
+            long carry = 0;
+            for (int i = 0; i < size; i++) {
+                long t = (q[i + d] & LONG_MASK) + (y[i] & LONG_MASK) + carry;
+                q[i + d] = (int)t;
+                carry = t >>> 32;
+            }
+            for (int i = size + d; carry != 0 && i <= qLen; i++) {
+                long t = (q[i] & LONG_MASK) + carry;
+                q[i] = (int)t;
+                carry = t >>> 32;
+            }
+            for (int i = 0; i < qLen; i++)
+                q[i] = (q[i] >>> 1) | (q[i + 1] << 31);
+
+            // The estimate is never below the root; if it overflowed the limbs, the all-ones
+            // value is still an upper bound and just as close.
+            if (q[newSize] != 0)
+                for (int i = 0; i < newSize; i++)
+                    q[i] = -1;
+
+            int[] swap = y;
+            y = q;
+            q = swap;
+            size = newSize;
+        }
+
+        //////// Detect round-ups ////////
+        SquareInto(sq, y, m);
+        while (Compare(sq, xn, xnLen) > 0) {
+            // (y-1)^2 = y^2 - 2y + 1
+            SubtractInPlace(sq, xnLen, y, m);
+            SubtractInPlace(sq, xnLen, y, m);
+            AddOneInPlace(sq, xnLen);
+            SubtractOneInPlace(y, m);
+        }
+
+        //////// Undo the normalization shift ////////
+        int rootShift = normShift >> 1;
+        int resultLen = (((bitLen + 1) >> 1) + 31) >> 5;
+        int limbShift = rootShift >>> 5;
+        int bitShift = rootShift & 31;
+        for (int i = 0; i < resultLen; i++) {
+            int lo = y[i + limbShift] >>> bitShift;
+            int hi = (bitShift != 0 && i + limbShift + 1 < m) ? y[i + limbShift + 1] << (32 - bitShift) : 0;
+            dst[i] = lo | hi;
+        }
+        return resultLen;
+    }
+
+    /**
+     * Convenience wrapper for BigInteger inputs. Only the conversion to and from BigInteger
+     * allocates; use SqrtInto() for the allocation-free path.
+     */
+    public BigInteger Sqrt(BigInteger x) {
+        if (x.signum() < 0)
+            throw new ArithmeticException("Negative BigInteger");
+        int xLen = (x.bitLength() + 31) >>> 5;
+        if (xIn.length < xLen)
+            xIn = new int[xLen];
+        byte[] bytes = x.toByteArray();
+        for (int i = 0; i < xLen; i++) {
+            int limb = 0;
+            for (int b = 3; b >= 0; b--) {
+                int index = bytes.length - 1 - (4 * i + b);
+                limb = (limb << 8) | (index >= 0 ? bytes[index] & 0xff : 0);
+            }
+            xIn[i] = limb;
+        }
+
+        if (out.length < (xLen + 1) / 2 + 1)
+            out = new int[(xLen + 1) / 2 + 1];
+        int rootLen = SqrtInto(out, xIn, xLen);
+        byte[] rootBytes = new byte[4 * rootLen];
+        for (int i = 0; i < rootLen; i++) {
+            int p = 4 * (rootLen - 1 - i);
+            rootBytes[p] = (byte)(out[i] >>> 24);
+            rootBytes[p + 1] = (byte)(out[i] >>> 16);
+            rootBytes[p + 2] = (byte)(out[i] >>> 8);
+            rootBytes[p + 3] = (byte)out[i];
+        }
+        return new BigInteger(1, rootBytes);
+    }
+
+    private void EnsureCapacity(int m) {
+        if (xn.length >= 2 * m)
+            return;
+        xn = new int[2 * m];
+        y = new int[m + 2];
+        q = new int[m + 2];
+        un = new int[2 * m + 1];
+        sq = new int[2 * m];
+    }
+
+    // floor(sqrt(v)) for an unsigned 64-bit v.
+    private static long Sqrt64(long v) {
+        double vAsDub = v >= 0 ? v : ((v >>> 1) | (v & 1)) * 2.0;
+        long r = Math.min((long)Math.sqrt(vAsDub), LONG_MASK);
+        while (Long.compareUnsigned(r * r, v) > 0)
+            r--;
+        while (r < LONG_MASK && Long.compareUnsigned((r + 1) * (r + 1), v) <= 0)
+            r++;
+        return r;
+    }
+
+    private static void ShiftLeftInto(int[] dst, int[] x, int xLen, int dstLen, int shift) {
+        int limbShift = shift >>> 5;
+        int bitShift = shift & 31;
+        for (int i = 0; i < dstLen; i++) {
+            int src = i - limbShift;
+            int lo = (src >= 0 && src < xLen) ? x[src] << bitShift : 0;
+            int hi = (bitShift != 0 && src - 1 >= 0 && src - 1 < xLen) ? x[src - 1] >>> (32 - bitShift) : 0;
+            dst[i] = lo | hi;
+        }
+    }
+
+    // Knuth's Algorithm D. v must have its top bit set. u (uLen limbs plus a zero limb at
+    // u[uLen]) is overwritten with the remainder; q receives uLen - vLen + 1 limbs.
+    private static void DivideInto(int[] q, int[] u, int uLen, int[] v, int vLen) {
+        long vTop = v[vLen - 1] & LONG_MASK;
+        long vNext = vLen > 1 ? v[vLen - 2] & LONG_MASK : 0;
+
+        for (int j = uLen - vLen; j >= 0; j--) {
+            long num = ((u[j + vLen] & LONG_MASK) << 32) | (u[j + vLen - 1] & LONG_MASK);
+            long qhat = Long.divideUnsigned(num, vTop);
+            long rhat = num - qhat * vTop;
+            while (qhat > LONG_MASK || (vLen > 1 && Long.compareUnsigned(qhat * vNext,
+                    (rhat << 32) | (u[j + vLen - 2] & LONG_MASK)) > 0)) {
+                qhat--;
+                rhat += vTop;
+                if (rhat > LONG_MASK)
+                    break;
+            }
+
+            // u[j..j+vLen] -= qhat * v
+            long borrow = 0;
+            long t;
+            for (int i = 0; i < vLen; i++) {
+                long p = qhat * (v[i] & LONG_MASK);
+                t = (u[i + j] & LONG_MASK) - borrow - (p & LONG_MASK);
+                u[i + j] = (int)t;
+                borrow = (p >>> 32) - (t >> 32);
+            }
+            t = (u[j + vLen] & LONG_MASK) - borrow;
+            u[j + vLen] = (int)t;
+
+            if (t < 0) { // qhat was one too large, add v back
+                qhat--;
+                long carry = 0;
+                for (int i = 0; i < vLen; i++) {
+                    long s = (u[i + j] & LONG_MASK) + (v[i] & LONG_MASK) + carry;
+                    u[i + j] = (int)s;
+                    carry = s >>> 32;
+                }
+                u[j + vLen] += (int)carry;
+            }
+            q[j] = (int)qhat;
+        }
+    }
+
+    // dst = a^2. The cross products are only done once and then doubled.
+    private static void SquareInto(int[] dst, int[] a, int len) {
+        for (int i = 0; i < 2 * len; i++)
+            dst[i] = 0;
+        for (int i = 0; i < len - 1; i++) {
+            long ai = a[i] & LONG_MASK;
+            long carry = 0;
+            for (int k = i + 1; k < len; k++) {
+                long t = ai * (a[k] & LONG_MASK) + (dst[i + k] & LONG_MASK) + carry;
+                dst[i + k] = (int)t;
+                carry = t >>> 32;
+            }
+            dst[i + len] = (int)carry;
+        }
+
+        // double the cross products and add the squares on the diagonal
+        long carry = 0;
+        for (int i = 0; i < len; i++) {
+            long ai = a[i] & LONG_MASK;
+            long sqr = ai * ai;
+            long lo = ((dst[2 * i] & LONG_MASK) << 1) + (sqr & LONG_MASK) + carry;
+            long hi = ((dst[2 * i + 1] & LONG_MASK) << 1) + (sqr >>> 32) + (lo >>> 32);
+            dst[2 * i] = (int)lo;
+            dst[2 * i + 1] = (int)hi;
+            carry = hi >>> 32;
+        }
+    }
+
+    private static int Compare(int[] a, int[] b, int len) {
+        for (int i = len - 1; i >= 0; i--)
+            if (a[i] != b[i])
+                return Integer.compareUnsigned(a[i], b[i]);
+        return 0;
+    }
+
+    private static void SubtractInPlace(int[] a, int aLen, int[] b, int bLen) {
+        long borrow = 0;
+        for (int i = 0; i < aLen; i++) {
+            long t = (a[i] & LONG_MASK) - (i < bLen ? b[i] & LONG_MASK : 0) - borrow;
+            a[i] = (int)t;
+            borrow = (t >>> 63);
+            if (i >= bLen && borrow == 0)
+                break;
+        }
+    }
+
+    private static void AddOneInPlace(int[] a, int len) {
+        for (int i = 0; i < len && ++a[i] == 0; i++) { }
+    }
+
+    private static void SubtractOneInPlace(int[] a, int len) {
+        for (int i = 0; i < len && a[i]-- == 0; i++) { }
+    }
+}
@@ -0,0 +1,226 @@
+package newtonplus;
+
+import java.math.BigInteger;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+// An optional fork-join version of NewtonPlusSqrt for very large inputs. Each level takes the
+// square root and remainder of the top half of x recursively, then does one Newton Plus step.
+// That step's multiplications are split across the pool with Toom-3 and the division is done as
+// a multiply by a reciprocal (also built from parallel multiplies), since BigInteger.divide() can
+// only use one core. Below the threshold everything is handed to the serial SunsetQuestSqrt.
+//
+// EXPERIMENTAL and package-private until it has been measured: this does more work than the serial
+// path, mostly in the reciprocal. On one core it measured 5% to 100% slower than SunsetQuestSqrt
+// at 1M to 3M bits (540 ms vs 263 ms at worst), and its 2 to 16 thread scaling has not been
+// measured yet. Once ParallelSqrtBenchmark has been run on multi-core machines it can be made
+// public with a NewtonPlusSqrt(x, pool) overload and a default threshold taken from the results.
+final class ParallelSquareRoot {
+
+    // Multiplies (and reciprocals) with an operand smaller than this run on one thread using
+    // BigInteger.multiply(), which is already Toom-3 (or Toom-3 squaring) at this size.
+    static final int SERIAL_MULTIPLY_BITS = 1 << 16;
+
+    // Extra bits carried by the reciprocal and the truncated operands so the approximate
+    // quotient is within a couple of units.
+    private static final int GUARD_BITS = 32;
+
+    private static final BigInteger THREE = BigInteger.valueOf(3);
+
+    // Same as BigIntegerSquareRoot.SunsetQuestSqrt(x) but inputs of parallelMinBits or more are
+    // spread across the pool. A pool with a parallelism of 1 always uses the serial path. Any
+    // pool works, including ForkJoinPool.commonPool(); all subtasks run in the pool given.
+    static BigInteger NewtonPlusSqrt(BigInteger x, ForkJoinPool pool, int parallelMinBits) {
+        if (x.signum() < 0)
+            throw new ArithmeticException("Negative BigInteger");
+        if (x.bitLength() < parallelMinBits || pool.getParallelism() < 2)
+            return BigIntegerSquareRoot.SunsetQuestSqrt(x);
+        if (SqrtDiagnostics.metricsEnabled)
+            SqrtDiagnostics.PARALLEL_PATH.increment();
+        return pool.invoke(new SqrtTask(x, pool, Math.max(parallelMinBits, 1 << 10)));
+    }
+
+    private static final class SqrtTask extends RecursiveTask<BigInteger> {
+        private static final long serialVersionUID = 1L;
+
+        private final BigInteger x;
+        private final ForkJoinPool pool;
+        private final int parallelMinBits;
+
+        SqrtTask(BigInteger x, ForkJoinPool pool, int parallelMinBits) {
+            this.x = x;
+            this.pool = pool;
+            this.parallelMinBits = parallelMinBits;
+        }
+
+        @Override
+        protected BigInteger compute() {
+            return SqrtRem(x, pool, parallelMinBits)[0];
+        }
+    }
+
+    // Returns {floor(sqrt(x)), x - floor(sqrt(x))^2}.
+    private static BigInteger[] SqrtRem(BigInteger x, ForkJoinPool pool, int parallelMinBits) {
+        int xLen = x.bitLength();
+        if (xLen < parallelMinBits) {
+            BigInteger val = BigIntegerSquareRoot.SunsetQuestSqrt(x);
+            return new BigInteger[] { val, x.subtract(val.multiply(val)) };
+        }
+
+        //////// Square root of the top half ////////
+        // With y = valHi << k we have sqrt(x) - 2^k < y <= sqrt(x), so one Newton step from y
+        // lands within 2^(k-1)/valHi of sqrt(x), which is under 1 for this k.
+        int k = (xLen >> 2) - 1;
+        BigInteger xLo = x.subtract(x.shiftRight(2 * k).shiftLeft(2 * k));
+        BigInteger[] hi = SqrtRem(x.shiftRight(2 * k), pool, parallelMinBits);
+        BigInteger valHi = hi[0];
+
+        //////// Newton Plus Iteration ////////
+        // x - y^2 comes for free from the remainder of the top half, so only that (about 3/4 of
+        // the bits of x) is divided by 2y and the quotient is just k bits. It only needs to be
+        // close; the remainder below corrects for the approximate division as well.
+        BigInteger valSU = hi[1].shiftLeft(2 * k).add(xLo);
+        BigInteger q = DivideApprox(valSU.shiftRight(k + 1), valHi, pool);
+        BigInteger val = valHi.shiftLeft(k).add(q);
+
+        //////// Correct the last few units ////////
+        // x - (valHi*2^k + q)^2 == valSU - valHi*q*2^(k+1) - q^2
+        BigInteger rem = valSU.subtract(Multiply(valHi, q, pool).shiftLeft(k + 1)).subtract(Multiply(q, q, pool));
+        while (rem.signum() < 0) {
+            val = val.subtract(BigInteger.ONE);
+            rem = rem.add(val.shiftLeft(1)).add(BigInteger.ONE);
+        }
+        while (rem.compareTo(val.shiftLeft(1)) > 0) {
+            rem = rem.subtract(val.shiftLeft(1)).subtract(BigInteger.ONE);
+            val = val.add(BigInteger.ONE);
+        }
+        return new BigInteger[] { val, rem };
+    }
+
+    //////// Division by reciprocal ////////
+
+    // Returns about a / b (a, b > 0), possibly off by a couple of units either way.
+    static BigInteger DivideApprox(BigInteger a, BigInteger b, ForkJoinPool pool) {
+        int aLen = a.bitLength();
+        int bLen = b.bitLength();
+        int qBits = aLen - bLen + 1;
+        if (Math.min(qBits, bLen) < SERIAL_MULTIPLY_BITS)
+            return a.divide(b);
+
+        // z ~= 2^(bLen+p) / b, and only the top p+GUARD_BITS bits of a can reach the quotient.
+        int p = qBits + GUARD_BITS;
+        BigInteger z = Reciprocal(b, p, pool);
+        int aShift = aLen - (p + GUARD_BITS);
+        return Multiply(a.shiftRight(aShift), z, pool).shiftRight(bLen + p - aShift);
+    }
+
+    // Returns about 2^(b.bitLength()+p) / b, found with Newton's z' = z + z(1 - bz) while
+    // doubling the precision. Only the top p+GUARD_BITS bits of b are used at each step.
+    static BigInteger Reciprocal(BigInteger b, int p, ForkJoinPool pool) {
+        int bLen = b.bitLength();
+        int t = Math.min(bLen, p + GUARD_BITS);
+        BigInteger bt = b.shiftRight(bLen - t); // b ~= bt * 2^(bLen-t)
+        if (p < SERIAL_MULTIPLY_BITS)
+            return BigInteger.ONE.shiftLeft(t + p).divide(bt);
+
+        int h = (p >> 1) + GUARD_BITS;
+        BigInteger zh = Reciprocal(b, h, pool); // z0 = zh << (p-h) ~= 2^(t+p) / bt
+
+        // e = 2^(t+p) - bt*z0, then z = z0 + z0*e / 2^(t+p); both multiplies use zh in place of z0.
+        BigInteger e = BigInteger.ONE.shiftLeft(t + p).subtract(Multiply(bt, zh, pool).shiftLeft(p - h));
+        return zh.shiftLeft(p - h).add(Multiply(zh, e, pool).shiftRight(t + h));
+    }
+
+    //////// Parallel Toom-3 ////////
+
+    // Splits until there are a few tasks per worker of pool. pool.invoke() may run a task on the
+    // calling thread (the common pool does), and forks from outside a worker go to the common
+    // pool, so the split is only run in place on one of pool's own workers.
+    static BigInteger Multiply(BigInteger a, BigInteger b, ForkJoinPool pool) {
+        int depth = 0;
+        for (int tasks = 1; tasks < 4 * pool.getParallelism(); tasks *= 5)
+            depth++;
+        MultiplyTask task = new MultiplyTask(a, b, depth);
+        return ForkJoinTask.getPool() == pool ? task.compute() : pool.invoke(task);
+    }
+
+    private static final class MultiplyTask extends RecursiveTask<BigInteger> {
+        private static final long serialVersionUID = 1L;
+
+        private final BigInteger a, b;
+        private final int depth;
+
+        MultiplyTask(BigInteger a, BigInteger b, int depth) {
+            this.a = a;
+            this.b = b;
+            this.depth = depth;
+        }
+
+        @Override
+        protected BigInteger compute() {
+            boolean square = a == b;
+            BigInteger a = this.a.abs(), b = square ? a : this.b.abs();
+            boolean negate = this.a.signum() * this.b.signum() < 0;
+            if (a.bitLength() < b.bitLength()) {
+                BigInteger t = a;
+                a = b;
+                b = t;
+            }
+            int aLen = a.bitLength();
+            int bLen = b.bitLength();
+            BigInteger result;
+            if (depth == 0 || bLen < SERIAL_MULTIPLY_BITS) {
+                result = a.multiply(b);
+            } else if (bLen <= aLen >> 1) {
+                // Lopsided: only the long side is split, giving two independent halves.
+                int half = (aLen >> 1) & -32;
+                BigInteger a1 = a.shiftRight(half);
+                MultiplyTask hi = new MultiplyTask(a1, b, depth - 1);
+                MultiplyTask lo = new MultiplyTask(a.subtract(a1.shiftLeft(half)), b, depth - 1);
+                invokeAll(hi, lo);
+                result = hi.join().shiftLeft(half).add(lo.join());
+            } else {
+                result = Toom3(a, b, square, (((aLen + 2) / 3) + 31) & -32);
+            }
+            return negate ? result.negate() : result;
+        }
+
+        // Same evaluation points and interpolation (Bodrato) as BigInteger.multiplyToomCook3(),
+        // but the five products are forked. This is no more work than a serial multiply.
+        private BigInteger Toom3(BigInteger a, BigInteger b, boolean square, int ss) {
+            BigInteger a2 = a.shiftRight(2 * ss);
+            BigInteger a1 = a.shiftRight(ss).subtract(a2.shiftLeft(ss));
+            BigInteger a0 = a.subtract(a.shiftRight(ss).shiftLeft(ss));
+            BigInteger b2 = a2, b1 = a1, b0 = a0;
+            if (!square) {
+                b2 = b.shiftRight(2 * ss);
+                b1 = b.shiftRight(ss).subtract(b2.shiftLeft(ss));
+                b0 = b.subtract(b.shiftRight(ss).shiftLeft(ss));
+            }
+
+            BigInteger da1 = a2.add(a0), db1 = square ? da1 : b2.add(b0);
+            BigInteger dm1 = da1.subtract(a1), dbm1 = square ? dm1 : db1.subtract(b1);
+            da1 = da1.add(a1);
+            db1 = square ? da1 : db1.add(b1);
+            BigInteger da2 = da1.add(a2).shiftLeft(1).subtract(a0);
+            BigInteger db2 = square ? da2 : db1.add(b2).shiftLeft(1).subtract(b0);
+
+            MultiplyTask v0 = new MultiplyTask(a0, b0, depth - 1);
+            MultiplyTask v1 = new MultiplyTask(da1, db1, depth - 1);
+            MultiplyTask vm1 = new MultiplyTask(dm1, dbm1, depth - 1);
+            MultiplyTask v2 = new MultiplyTask(da2, db2, depth - 1);
+            MultiplyTask vinf = new MultiplyTask(a2, b2, depth - 1);
+            invokeAll(v0, v1, vm1, v2, vinf);
+
+            BigInteger t2 = v2.join().subtract(vm1.join()).divide(THREE);
+            BigInteger tm1 = v1.join().subtract(vm1.join()).shiftRight(1);
+            BigInteger t1 = v1.join().subtract(v0.join());
+            t2 = t2.subtract(t1).shiftRight(1);
+            t1 = t1.subtract(tm1).subtract(vinf.join());
+            t2 = t2.subtract(vinf.join().shiftLeft(1));
+            tm1 = tm1.subtract(t2);
+            return vinf.join().shiftLeft(ss).add(t2).shiftLeft(ss).add(t1).shiftLeft(ss).add(tm1).shiftLeft(ss).add(v0.join());
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package newtonplus;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigInteger;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+// Verification and metrics for the square root functions. Verification (NewtonPlusSqrt only)
+// replaces the old print and System.console().readLine() check with a SqrtVerificationException.
+// The metrics show which path calls take in NewtonPlusSqrt and SunsetQuestSqrt, and so also in
+// SqrtRem, IsPerfectSquare and SqrtDispatcher. BatchSquareRoot counts its primitive values as long
+// or double path calls; ParallelSquareRoot counts each parallel call, and its serial pieces then
+// show up again under SunsetQuestSqrt's paths. The metrics are off by default so the fast paths
+// only pay a volatile read.
+public final class SqrtDiagnostics {
+
+    public enum VerificationLevel {
+        OFF,     // never check
+        SAMPLED, // check about 1 in sampleEvery calls
+        ALWAYS   // check every call
+    }
+
+    // A point in time copy of the counters.
+    public record Snapshot(long longPath, long doublePath, long newtonPath, long newtonPlusPath,
+            long inversePath, long parallelPath, long roundUps, long verified, long[][] iterationHistogram) { }
+
+    // Histogram rows are log2 of the input's bit length, columns the Newton Plus iteration count.
+    static final int HISTOGRAM_ROWS = 32;
+    static final int HISTOGRAM_COLUMNS = 32;
+
+    private static volatile VerificationLevel verificationLevel = VerificationLevel.SAMPLED;
+    private static volatile int sampleEvery = 1024;
+    static volatile boolean metricsEnabled;
+
+    static final LongAdder LONG_PATH = new LongAdder();
+    static final LongAdder DOUBLE_PATH = new LongAdder();
+    static final LongAdder NEWTON_PATH = new LongAdder();
+    static final LongAdder NEWTON_PLUS_PATH = new LongAdder();
+    static final LongAdder INVERSE_PATH = new LongAdder();
+    static final LongAdder PARALLEL_PATH = new LongAdder();
+    static final LongAdder ROUND_UPS = new LongAdder();
+    static final LongAdder VERIFIED = new LongAdder();
+    private static final LongAdder[][] ITERATIONS = new LongAdder[HISTOGRAM_ROWS][HISTOGRAM_COLUMNS];
+    static {
+        for (LongAdder[] row : ITERATIONS)
+            for (int i = 0; i < row.length; i++)
+                row[i] = new LongAdder();
+    }
+
+    private SqrtDiagnostics() { }
+
+    //////// Configuration ////////
+
+    // SAMPLED (1 in 1024) by default. The result's square is already known by then so a check is
+    // only an add and a compare, but that is still ~25% of a 100 bit sqrt.
+    public static void SetVerificationLevel(VerificationLevel level) {
+        verificationLevel = level;
+    }
+
+    // SAMPLED with a check on about 1 in sampleEvery calls.
+    public static void SetVerificationLevel(VerificationLevel level, int sampleEvery) {
+        if (sampleEvery < 1)
+            throw new IllegalArgumentException("sampleEvery must be 1 or more.");
+        SqrtDiagnostics.sampleEvery = sampleEvery;
+        verificationLevel = level;
+    }
+
+    public static VerificationLevel GetVerificationLevel() {
+        return verificationLevel;
+    }
+
+    public static int GetSampleEvery() {
+        return sampleEvery;
+    }
+
+    public static void SetMetricsEnabled(boolean enabled) {
+        metricsEnabled = enabled;
+    }
+
+    public static boolean IsMetricsEnabled() {
+        return metricsEnabled;
+    }
+
+    //////// Reading the counters ////////
+
+    public static Snapshot GetSnapshot() {
+        long[][] histogram = new long[HISTOGRAM_ROWS][HISTOGRAM_COLUMNS];
+        for (int r = 0; r < HISTOGRAM_ROWS; r++)
+            for (int c = 0; c < HISTOGRAM_COLUMNS; c++)
+                histogram[r][c] = ITERATIONS[r][c].sum();
+        return new Snapshot(LONG_PATH.sum(), DOUBLE_PATH.sum(), NEWTON_PATH.sum(), NEWTON_PLUS_PATH.sum(),
+                INVERSE_PATH.sum(), PARALLEL_PATH.sum(), ROUND_UPS.sum(), VERIFIED.sum(), histogram);
+    }
+
+    public static void Reset() {
+        for (LongAdder a : new LongAdder[] { LONG_PATH, DOUBLE_PATH, NEWTON_PATH, NEWTON_PLUS_PATH, INVERSE_PATH, PARALLEL_PATH,
+                ROUND_UPS, VERIFIED })
+            a.reset();
+        for (LongAdder[] row : ITERATIONS)
+            for (LongAdder a : row)
+                a.reset();
+    }
+
+    // Registers the counters and settings as "newtonplus:type=SqrtDiagnostics". Calling it again
+    // does nothing.
+    public static synchronized void RegisterMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName("newtonplus:type=SqrtDiagnostics");
+            if (!server.isRegistered(name))
+                server.registerMBean(new MXBean(), name);
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register the SqrtDiagnostics MBean", e);
+        }
+    }
+
+    //////// Used by NewtonPlusSqrt ////////
+
+    static void CountIterations(int xLen, int iterations) {
+        int row = Math.min(31 - Integer.numberOfLeadingZeros(xLen), HISTOGRAM_ROWS - 1);
+        ITERATIONS[row][Math.min(iterations, HISTOGRAM_COLUMNS - 1)].increment();
+    }
+
+    static boolean ShouldVerify() {
+        VerificationLevel level = verificationLevel;
+        return level == VerificationLevel.ALWAYS
+                || (level == VerificationLevel.SAMPLED && ThreadLocalRandom.current().nextInt(sampleEvery) == 0);
+    }
+
+    // Throws unless valSqrd <= x < valSqrd + 2val + 1, where valSqrd = val^2.
+    static void Verify(BigInteger x, BigInteger val, BigInteger valSqrd) {
+        if (metricsEnabled)
+            VERIFIED.increment();
+        if (valSqrd.compareTo(x) > 0)
+            throw new SqrtVerificationException(x, val, true);
+        if (valSqrd.add(val.shiftLeft(1)).compareTo(x) < 0)
+            throw new SqrtVerificationException(x, val, false);
+    }
+
+    private static final class MXBean implements SqrtDiagnosticsMXBean {
+        @Override public long getLongPathCount() { return LONG_PATH.sum(); }
+        @Override public long getDoublePathCount() { return DOUBLE_PATH.sum(); }
+        @Override public long getNewtonPathCount() { return NEWTON_PATH.sum(); }
+        @Override public long getNewtonPlusPathCount() { return NEWTON_PLUS_PATH.sum(); }
+        @Override public long getInversePathCount() { return INVERSE_PATH.sum(); }
+        @Override public long getParallelPathCount() { return PARALLEL_PATH.sum(); }
+        @Override public long getRoundUpCount() { return ROUND_UPS.sum(); }
+        @Override public long getVerifiedCount() { return VERIFIED.sum(); }
+        @Override public long[][] getIterationHistogram() { return GetSnapshot().iterationHistogram(); }
+        @Override public String getVerificationLevel() { return verificationLevel.name(); }
+        @Override public void setVerificationLevel(String level) { SetVerificationLevel(VerificationLevel.valueOf(level)); }
+        @Override public int getSampleEvery() { return sampleEvery; }
+        @Override public void setSampleEvery(int sampleEvery) { SetVerificationLevel(verificationLevel, sampleEvery); }
+        @Override public boolean isMetricsEnabled() { return metricsEnabled; }
+        @Override public void setMetricsEnabled(boolean enabled) { SetMetricsEnabled(enabled); }
+        @Override public void reset() { Reset(); }
+    }
+}
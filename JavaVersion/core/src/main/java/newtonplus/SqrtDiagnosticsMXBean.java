@@ -0,0 +1,38 @@
+package newtonplus;
+
+// JMX view of SqrtDiagnostics, registered with SqrtDiagnostics.RegisterMBean().
+public interface SqrtDiagnosticsMXBean {
+
+    long getLongPathCount();
+
+    long getDoublePathCount();
+
+    long getNewtonPathCount();
+
+    long getNewtonPlusPathCount();
+
+    long getInversePathCount();
+
+    long getParallelPathCount();
+
+    long getRoundUpCount();
+
+    long getVerifiedCount();
+
+    // [log2(bit length)][Newton Plus iterations] -> calls
+    long[][] getIterationHistogram();
+
+    String getVerificationLevel();
+
+    void setVerificationLevel(String level);
+
+    int getSampleEvery();
+
+    void setSampleEvery(int sampleEvery);
+
+    boolean isMetricsEnabled();
+
+    void setMetricsEnabled(boolean enabled);
+
+    void reset();
+}
@@ -0,0 +1,358 @@
+package newtonplus;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.Random;
+import java.util.stream.Stream;
+
+// Sends each square root to whichever implementation measured fastest for its size on this JVM and
+// CPU. Inputs are bucketed by bit length (bucket b holds 2^(b-1) to 2^b - 1 bits) and each bucket
+// has a strategy. The table comes from a short calibration run, or from a profile file saved by
+// one so that a fleet of nodes only has to calibrate once. A profile is only reused with the same
+// JVM, architecture, core count and, where the OS reports it, CPU model. Calibration only moves a
+// bucket off SunsetQuestSqrt when another strategy is clearly faster, so reruns give the same table.
+public final class SqrtDispatcher {
+
+    // MUTABLE pays for the BigInteger to int[] conversions that SqrtInto() avoids. Counting them,
+    // it measured on one 1-core x86-64 JVM 17 about level with NEWTON_PLUS and only beat
+    // SUNSET_QUEST by the 10% margin at 1024 to 2047 bits, and not on every run; elsewhere it loses.
+    public enum Strategy {
+        NEWTON_PLUS,
+        SUNSET_QUEST,
+        SUNSET_QUEST_INVERSE,
+        JAVA,
+        MUTABLE; // MutableSquareRoot.Sqrt(BigInteger) from a per-thread instance, conversions included
+
+        // A switch rather than a Function per constant: calibration calls all of them, which makes
+        // a Function.apply() call site megamorphic and costs more than a small sqrt.
+        public BigInteger Sqrt(BigInteger x) {
+            switch (this) {
+                case NEWTON_PLUS: return App.NewtonPlusSqrt(x);
+                case SUNSET_QUEST: return BigIntegerSquareRoot.SunsetQuestSqrt(x);
+                case SUNSET_QUEST_INVERSE: return BigIntegerSquareRoot.SunsetQuestSqrt(x, 0);
+                case MUTABLE: return MUTABLE_SQRT.get().Sqrt(x);
+                default: return x.sqrt();
+            }
+        }
+
+        // The inverse path is the same as SUNSET_QUEST below INVERSE_MIN_BITS so it is only timed
+        // from there up. MutableSquareRoot multiplies and divides schoolbook, so it is only timed
+        // up to MUTABLE_MAX_BITS.
+        private boolean IsCandidate(int bitLength) {
+            switch (this) {
+                case SUNSET_QUEST_INVERSE: return bitLength >= BigIntegerSquareRoot.INVERSE_MIN_BITS;
+                case MUTABLE: return bitLength <= MUTABLE_MAX_BITS;
+                default: return true;
+            }
+        }
+    }
+
+    // Bit lengths 0 to Integer.MAX_VALUE.
+    private static final int BUCKETS = 32;
+
+    // Above this MutableSquareRoot's quadratic steps are slower than BigInteger's Toom-3.
+    private static final int MUTABLE_MAX_BITS = 1 << 13;
+    private static final ThreadLocal<MutableSquareRoot> MUTABLE_SQRT = ThreadLocal.withInitial(MutableSquareRoot::new);
+
+    // Calibrate() stops at this size by default; larger buckets keep SUNSET_QUEST.
+    public static final int DEFAULT_MAX_BITS = 1 << 16;
+    public static final long DEFAULT_MILLIS_PER_BUCKET = 40;
+
+    // Set to a profile path to have Shared() load it, or calibrate and save it if it is missing
+    // or was made on a different JVM or CPU.
+    public static final String PROFILE_PROPERTY = "newtonplus.sqrtProfile";
+
+    private static final int POOL_SIZE = 64;
+    // Each bucket is timed for at least MIN_ROUNDS rounds, and at most MAX_ROUNDS. A warm-up pass
+    // runs WARMUP_ROUNDS on each bucket; warm-up ends after QUIET_PASSES passes in a row with
+    // almost no JIT activity, or after WARMUP_LIMIT times the time budget for timing.
+    private static final int MIN_ROUNDS = 15;
+    private static final int MAX_ROUNDS = 1 << 10;
+    private static final int WARMUP_ROUNDS = 2;
+    private static final int QUIET_PASSES = 4;
+    private static final int WARMUP_LIMIT = 20;
+    // A challenger must take under this fraction of SUNSET_QUEST's time, by the median of its
+    // per-round ratios, to replace it.
+    private static final double MARGIN = 0.9;
+    private static volatile SqrtDispatcher shared;
+    private static volatile int sink;
+
+    private final Strategy[] table;
+    private final String fingerprint;
+
+    private SqrtDispatcher(Strategy[] table, String fingerprint) {
+        this.table = table;
+        this.fingerprint = fingerprint;
+    }
+
+    // Every size goes to SunsetQuestSqrt, which is the choice the hardcoded cutoffs make.
+    public static SqrtDispatcher Untuned() {
+        Strategy[] table = new Strategy[BUCKETS];
+        Arrays.fill(table, Strategy.SUNSET_QUEST);
+        return new SqrtDispatcher(table, "untuned");
+    }
+
+    // The dispatcher set by PROFILE_PROPERTY, or Untuned() if it is not set. Made on first use.
+    public static SqrtDispatcher Shared() {
+        SqrtDispatcher d = shared;
+        if (d == null) {
+            synchronized (SqrtDispatcher.class) {
+                d = shared;
+                if (d == null) {
+                    String profile = System.getProperty(PROFILE_PROPERTY);
+                    try {
+                        d = (profile == null) ? Untuned() : LoadOrCalibrate(Path.of(profile));
+                    } catch (IOException e) {
+                        throw new IllegalStateException("Could not use the sqrt profile " + profile, e);
+                    }
+                    shared = d;
+                }
+            }
+        }
+        return d;
+    }
+
+    public static void SetShared(SqrtDispatcher dispatcher) {
+        shared = dispatcher;
+    }
+
+    //////// Dispatch ////////
+
+    public BigInteger Sqrt(BigInteger x) {
+        if (x.signum() < 0)
+            throw new ArithmeticException("Negative BigInteger");
+        return table[Bucket(x.bitLength())].Sqrt(x);
+    }
+
+    public Strategy StrategyFor(int bitLength) {
+        return table[Bucket(bitLength)];
+    }
+
+    private static int Bucket(int bitLength) {
+        return 32 - Integer.numberOfLeadingZeros(bitLength);
+    }
+
+    //////// Calibration ////////
+
+    public static SqrtDispatcher Calibrate() {
+        return Calibrate(DEFAULT_MAX_BITS, DEFAULT_MILLIS_PER_BUCKET);
+    }
+
+    /**
+     * Times every strategy on random inputs in the middle of each bucket. A bucket moves off
+     * SUNSET_QUEST only if another strategy is more than 10% quicker in the median round.
+     * @param maxBits The largest input size to time. Buckets above it keep SUNSET_QUEST.
+     * @param millisPerBucket About how long to time each bucket for, after at least MIN_ROUNDS
+     *                        rounds. Before any bucket is timed every strategy is run on every
+     *                        bucket until the JIT has settled, which on a cold JVM can take a few
+     *                        times longer than the timing itself.
+     */
+    public static SqrtDispatcher Calibrate(int maxBits, long millisPerBucket) {
+        if (maxBits < 1 || millisPerBucket < 1)
+            throw new IllegalArgumentException("maxBits and millisPerBucket must be 1 or more.");
+        Strategy[] table = Untuned().table;
+        int last = Bucket(maxBits);
+        BigInteger[][] pools = new BigInteger[last + 1][];
+        for (int b = 1; b <= last; b++)
+            pools[b] = Pool(Math.min(maxBits, (b < 3) ? b : 3 << (b - 2))); // 2^(b-1) * 1.5
+        WarmUp(pools, millisPerBucket * last * WARMUP_LIMIT);
+        for (int b = 1; b <= last; b++)
+            table[b] = Fastest(pools[b], millisPerBucket);
+        return new SqrtDispatcher(table, Fingerprint());
+    }
+
+    private static BigInteger[] Pool(int bits) {
+        Random rand = new Random(2344218 + bits);
+        BigInteger[] pool = new BigInteger[POOL_SIZE];
+        for (int i = 0; i < POOL_SIZE; i++)
+            pool[i] = new BigInteger(bits, rand).setBit(bits - 1);
+        return pool;
+    }
+
+    // Small inputs are timed 64 at a time so the clock's resolution doesn't matter; large ones one
+    // at a time so a round stays short.
+    private static int BatchSize(int bits) {
+        return Integer.highestOneBit(Math.max(1, Math.min(POOL_SIZE, (1 << 16) / bits)));
+    }
+
+    // Runs passes over every bucket until the JIT has spent under 1% of QUIET_PASSES passes in a
+    // row compiling, since time spent compiling lands on whichever strategy happens to be running.
+    // C2 compiles come in bursts a few passes apart, so one quiet pass is not enough. Where the
+    // JVM can't report compile time it just runs until millis is used up.
+    private static void WarmUp(BigInteger[][] pools, long millis) {
+        CompilationMXBean jit = ManagementFactory.getCompilationMXBean();
+        boolean monitored = jit != null && jit.isCompilationTimeMonitoringSupported();
+        long end = System.nanoTime() + millis * 1_000_000;
+        long compileMillis = monitored ? jit.getTotalCompilationTime() : 0;
+        int quiet = 0;
+        while (System.nanoTime() < end) {
+            long start = System.nanoTime();
+            for (int b = 1; b < pools.length; b++)
+                Rounds(pools[b], WARMUP_ROUNDS, 0);
+            if (monitored) {
+                long passMillis = (System.nanoTime() - start) / 1_000_000;
+                long previous = compileMillis;
+                compileMillis = jit.getTotalCompilationTime();
+                quiet = ((compileMillis - previous) * 100 <= passMillis) ? quiet + 1 : 0;
+                if (quiet == QUIET_PASSES)
+                    return;
+            }
+        }
+    }
+
+    // Times the candidate strategies for pool's size in turns, each round on the same batch of
+    // inputs so clock changes hit them all alike. Returns times[strategy][round].
+    private static long[][] Rounds(BigInteger[] pool, int minRounds, long millis) {
+        int bits = pool[0].bitLength();
+        int batch = BatchSize(bits);
+        Strategy[] strategies = Candidates(bits);
+        long[][] times = new long[strategies.length][MAX_ROUNDS];
+        long end = System.nanoTime() + millis * 1_000_000;
+        int rounds = 0;
+        for (; rounds < minRounds || (rounds < MAX_ROUNDS && System.nanoTime() < end); rounds++) {
+            int first = (rounds * batch) % POOL_SIZE;
+            for (int s = 0; s < strategies.length; s++)
+                times[s][rounds] = Time(strategies[s], pool, first, batch);
+        }
+        for (int s = 0; s < strategies.length; s++)
+            times[s] = Arrays.copyOf(times[s], rounds);
+        return times;
+    }
+
+    private static Strategy Fastest(BigInteger[] pool, long millis) {
+        Strategy[] strategies = Candidates(pool[0].bitLength());
+        long[][] times = Rounds(pool, MIN_ROUNDS, millis);
+        long[] sunsetQuest = times[Arrays.asList(strategies).indexOf(Strategy.SUNSET_QUEST)];
+        Strategy fastest = Strategy.SUNSET_QUEST;
+        double toBeat = MARGIN;
+        for (int s = 0; s < strategies.length; s++) {
+            double[] ratios = new double[sunsetQuest.length];
+            for (int r = 0; r < ratios.length; r++)
+                ratios[r] = (double) times[s][r] / Math.max(1, sunsetQuest[r]);
+            Arrays.sort(ratios);
+            double median = ratios[ratios.length / 2];
+            if (median < toBeat) {
+                fastest = strategies[s];
+                toBeat = median;
+            }
+        }
+        return fastest;
+    }
+
+    private static Strategy[] Candidates(int bits) {
+        return Arrays.stream(Strategy.values()).filter(s -> s.IsCandidate(bits)).toArray(Strategy[]::new);
+    }
+
+    private static long Time(Strategy strategy, BigInteger[] pool, int first, int batch) {
+        long start = System.nanoTime();
+        int hash = 0;
+        for (int i = first; i < first + batch; i++)
+            hash += strategy.Sqrt(pool[i]).hashCode();
+        long time = System.nanoTime() - start;
+        sink += hash;
+        return time;
+    }
+
+    //////// Profiles ////////
+
+    // Loads the profile at path if its fingerprint matches this machine (see Fingerprint()),
+    // otherwise calibrates and saves a new one there.
+    public static SqrtDispatcher LoadOrCalibrate(Path path) throws IOException {
+        if (Files.exists(path)) {
+            SqrtDispatcher loaded = Load(path);
+            if (loaded.fingerprint.equals(Fingerprint()))
+                return loaded;
+        }
+        SqrtDispatcher calibrated = Calibrate();
+        calibrated.Save(path);
+        return calibrated;
+    }
+
+    // Loads a profile whatever JVM it was made on.
+    public static SqrtDispatcher Load(Path path) throws IOException {
+        Properties props = new Properties();
+        try (Reader reader = Files.newBufferedReader(path)) {
+            props.load(reader);
+        }
+        Strategy[] table = Untuned().table;
+        for (int b = 0; b < BUCKETS; b++) {
+            String name = props.getProperty("bucket." + b);
+            if (name == null)
+                continue;
+            try {
+                table[b] = Strategy.valueOf(name.trim());
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Unknown strategy '" + name + "' for bucket " + b + " in " + path, e);
+            }
+        }
+        return new SqrtDispatcher(table, props.getProperty("fingerprint", ""));
+    }
+
+    // One "bucket.b=STRATEGY" line per bucket, plus the fingerprint of the machine it was measured
+    // on. The file is in java.util.Properties format. It is written to a temporary file next to
+    // path and then moved over it, so nodes sharing the path never read a half-written profile.
+    public void Save(Path path) throws IOException {
+        Path dir = path.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(dir, path.getFileName().toString(), ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(temp)) {
+                writer.write("# SqrtDispatcher profile; bucket b is inputs of 2^(b-1) to 2^b - 1 bits\n");
+                writer.write("fingerprint=" + fingerprint.replace("\\", "\\\\") + "\n");
+                for (int b = 0; b < BUCKETS; b++)
+                    writer.write("bucket." + b + "=" + table[b].name() + "\n");
+            }
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // The JVM, architecture and core count, plus the CPU model when it can be found: Windows sets
+    // PROCESSOR_IDENTIFIER and Linux lists it in /proc/cpuinfo. Elsewhere two CPU models with the
+    // same core count share a fingerprint.
+    static String Fingerprint() {
+        String fingerprint = System.getProperty("java.vm.name") + " " + System.getProperty("java.vm.version") + " "
+                + System.getProperty("os.arch") + " " + Runtime.getRuntime().availableProcessors() + " cores";
+        String cpu = CpuModel();
+        return (cpu == null) ? fingerprint : fingerprint + " " + cpu;
+    }
+
+    private static String CpuModel() {
+        String cpu = System.getenv("PROCESSOR_IDENTIFIER");
+        if (cpu != null && !cpu.isBlank())
+            return cpu.trim();
+        try (Stream<String> lines = Files.lines(Path.of("/proc/cpuinfo"))) {
+            return lines.filter(line -> line.startsWith("model name"))
+                    .map(line -> line.substring(line.indexOf(':') + 1).trim())
+                    .findFirst().orElse(null);
+        } catch (IOException | UncheckedIOException | SecurityException e) {
+            return null;
+        }
+    }
+
+    // One line per run of buckets with the same strategy, e.g. "1-64 bits: NEWTON_PLUS".
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("SqrtDispatcher (" + fingerprint + ")");
+        for (int b = 1; b < BUCKETS; ) {
+            int end = b;
+            while (end + 1 < BUCKETS && table[end + 1] == table[b])
+                end++;
+            long lo = 1L << (b - 1);
+            long hi = (1L << end) - 1;
+            sb.append("\n  ").append(lo).append('-').append(hi).append(" bits: ").append(table[b]);
+            b = end + 1;
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,30 @@
+package newtonplus;
+
+import java.math.BigInteger;
+
+// Thrown by NewtonPlusSqrt when a verified result is not floor(sqrt(x)). As of this writing
+// there are no known inputs that cause it.
+public class SqrtVerificationException extends ArithmeticException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final BigInteger input;
+    private final BigInteger result;
+
+    public SqrtVerificationException(BigInteger input, BigInteger result, boolean tooHigh) {
+        super("Sqrt function had internal error - value too " + (tooHigh ? "high" : "low")
+                + " on " + input.bitLength() + " bit input");
+        this.input = input;
+        this.result = result;
+    }
+
+    // The value NewtonPlusSqrt was called with.
+    public BigInteger getInput() {
+        return input;
+    }
+
+    // The wrong root it came up with.
+    public BigInteger getResult() {
+        return result;
+    }
+}
@@ -0,0 +1,184 @@
+package newtonplus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+// Whole-array checks of every SqrtAll overload against BigInteger.sqrt(). The random arrays are
+// longer than three blocks of 4096 (BatchSquareRoot.BLOCK_SIZE) and end in a partial block.
+class BatchSquareRootTest {
+
+    private static final int LENGTH = 3 * 4096 + 1000;
+    private static final long SEED = 26;
+
+    private static final BigInteger TWO_64 = BigInteger.ONE.shiftLeft(64);
+
+    // Long.MAX_VALUE, squares and their neighbours around the largest long root, and 2^52±1
+    // where the double stops holding every long exactly.
+    private static final long[] LONG_EDGES = {
+        0, 1, 2, 3, 4, Long.MAX_VALUE, Long.MAX_VALUE - 1,
+        3037000499L * 3037000499L - 1, 3037000499L * 3037000499L, 3037000499L * 3037000499L + 1,
+        3037000498L * 3037000498L - 1, 3037000498L * 3037000498L,
+        (1L << 52) - 1, 1L << 52, (1L << 52) + 1, (1L << 53) + 1, (1L << 62) - 1, 1L << 62
+    };
+
+    // {hi, lo} pairs: the largest two-limb value, 2^126, and squares near 2^64 and 2^128.
+    private static final long[][] TWO_LIMB_EDGES = {
+        { -1L, -1L }, { 1L << 62, 0 }, { 0, -1L }, { 0, Long.MAX_VALUE }, { 0, Long.MIN_VALUE },
+        { 1, 0 }, { -1L, 0 }, { -2L, 1 }, { -2L, 0 }, { Long.MAX_VALUE, -1L }, { Long.MIN_VALUE, 0 }
+    };
+
+    @ParameterizedTest
+    @ValueSource(booleans = { false, true })
+    void longs(boolean parallel) {
+        long[] in = RandomLongs();
+        long[] out = new long[in.length];
+        BatchSquareRoot.SqrtAll(in, out, parallel);
+        for (int i = 0; i < in.length; i++)
+            assertEquals(BigInteger.valueOf(in[i]).sqrt().longValueExact(), out[i], "sqrt(" + in[i] + ")");
+    }
+
+    @Test
+    void longsInPlace() {
+        long[] in = RandomLongs();
+        long[] values = in.clone();
+        BatchSquareRoot.SqrtAll(values, values);
+        for (int i = 0; i < in.length; i++)
+            assertEquals(BigInteger.valueOf(in[i]).sqrt().longValueExact(), values[i], "sqrt(" + in[i] + ")");
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = { false, true })
+    void twoLimbs(boolean parallel) {
+        long[][] hiLo = RandomTwoLimbs();
+        long[] hi = hiLo[0], lo = hiLo[1];
+        long[] out = new long[hi.length];
+        BatchSquareRoot.SqrtAll(hi, lo, out, parallel);
+        for (int i = 0; i < hi.length; i++) {
+            BigInteger x = Unsigned(hi[i]).shiftLeft(64).add(Unsigned(lo[i]));
+            assertEquals(x.sqrt(), Unsigned(out[i]), "sqrt(" + x + ")");
+        }
+    }
+
+    @Test
+    void twoLimbsDefaultOverload() {
+        long[] hi = new long[TWO_LIMB_EDGES.length], lo = new long[TWO_LIMB_EDGES.length];
+        for (int i = 0; i < TWO_LIMB_EDGES.length; i++) {
+            hi[i] = TWO_LIMB_EDGES[i][0];
+            lo[i] = TWO_LIMB_EDGES[i][1];
+        }
+        long[] out = new long[hi.length];
+        BatchSquareRoot.SqrtAll(hi, lo, out);
+        assertEquals(-1L, out[0]); // floor(sqrt(2^128 - 1)) = 2^64 - 1
+        assertEquals(1L << 63, out[1]);
+        for (int i = 0; i < hi.length; i++) {
+            BigInteger x = Unsigned(hi[i]).shiftLeft(64).add(Unsigned(lo[i]));
+            assertEquals(x.sqrt(), Unsigned(out[i]), "sqrt(" + x + ")");
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = { false, true })
+    void bigIntegers(boolean parallel) {
+        BigInteger[] in = RandomBigIntegers();
+        BigInteger[] out = new BigInteger[in.length];
+        BatchSquareRoot.SqrtAll(in, out, parallel);
+        for (int i = 0; i < in.length; i++)
+            assertEquals(in[i].sqrt(), out[i], "sqrt(" + in[i] + ")");
+    }
+
+    @Test
+    void bigIntegersInPlace() {
+        BigInteger[] in = RandomBigIntegers();
+        BigInteger[] values = in.clone();
+        BatchSquareRoot.SqrtAll(values, values);
+        for (int i = 0; i < in.length; i++)
+            assertEquals(in[i].sqrt(), values[i], "sqrt(" + in[i] + ")");
+    }
+
+    @Test
+    void negativeValuesThrow() {
+        long[] in = RandomLongs();
+        in[5000] = -1;
+        ArithmeticException e = assertThrows(ArithmeticException.class, () -> BatchSquareRoot.SqrtAll(in, new long[in.length]));
+        assertEquals("Negative value at index 5000", e.getMessage());
+
+        BigInteger[] big = RandomBigIntegers();
+        big[5000] = BigInteger.ONE.shiftLeft(100).negate();
+        e = assertThrows(ArithmeticException.class, () -> BatchSquareRoot.SqrtAll(big, new BigInteger[big.length]));
+        assertEquals("Negative BigInteger at index 5000", e.getMessage());
+        // From a parallel stream the exception may be a copy made on this thread, with the
+        // original (and its message) as the cause.
+        assertThrows(ArithmeticException.class, () -> BatchSquareRoot.SqrtAll(big, new BigInteger[big.length], true));
+        assertThrows(ArithmeticException.class, () -> BatchSquareRoot.SqrtAll(in, new long[in.length], true));
+    }
+
+    @Test
+    void lengthMismatchThrows() {
+        assertThrows(IllegalArgumentException.class, () -> BatchSquareRoot.SqrtAll(new long[3], new long[2]));
+        assertThrows(IllegalArgumentException.class, () -> BatchSquareRoot.SqrtAll(new long[3], new long[2], new long[3]));
+        assertThrows(IllegalArgumentException.class, () -> BatchSquareRoot.SqrtAll(new long[3], new long[3], new long[4]));
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> BatchSquareRoot.SqrtAll(new BigInteger[3], new BigInteger[2]));
+        assertEquals("Array lengths differ: 3 and 2", e.getMessage());
+    }
+
+    //////// Inputs ////////
+
+    // Random bit lengths with the edge values at the start, across a block boundary and at the end.
+    private static long[] RandomLongs() {
+        SplittableRandom random = new SplittableRandom(SEED);
+        long[] in = new long[LENGTH];
+        for (int i = 0; i < in.length; i++)
+            in[i] = random.nextLong() >>> random.nextInt(1, 64);
+        for (int at : new int[] { 0, 4096 - LONG_EDGES.length / 2, LENGTH - LONG_EDGES.length })
+            System.arraycopy(LONG_EDGES, 0, in, at, LONG_EDGES.length);
+        return in;
+    }
+
+    private static long[][] RandomTwoLimbs() {
+        SplittableRandom random = new SplittableRandom(SEED);
+        long[] hi = new long[LENGTH], lo = new long[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            int bits = random.nextInt(1, 129);
+            hi[i] = (bits > 64) ? random.nextLong() >>> (128 - bits) : 0;
+            lo[i] = (bits >= 64) ? random.nextLong() : random.nextLong() >>> (64 - bits);
+        }
+        for (int at : new int[] { 0, 4096 - TWO_LIMB_EDGES.length / 2, LENGTH - TWO_LIMB_EDGES.length })
+            for (int i = 0; i < TWO_LIMB_EDGES.length; i++) {
+                hi[at + i] = TWO_LIMB_EDGES[i][0];
+                lo[at + i] = TWO_LIMB_EDGES[i][1];
+            }
+        return new long[][] { hi, lo };
+    }
+
+    // Mostly one and two limb values so the primitive paths get most of the work.
+    private static BigInteger[] RandomBigIntegers() {
+        SplittableRandom random = new SplittableRandom(SEED);
+        BigInteger[] in = new BigInteger[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            int bits = (random.nextInt(8) == 0) ? random.nextInt(129, 2000) : random.nextInt(0, 129);
+            BigInteger x = BigInteger.ZERO;
+            for (int b = 0; b < bits; b += 64)
+                x = x.shiftLeft(64).add(Unsigned(random.nextLong()));
+            in[i] = x.shiftRight(x.bitLength() > bits ? x.bitLength() - bits : 0);
+        }
+        in[0] = TWO_64.pow(2).subtract(BigInteger.ONE);
+        in[1] = TWO_64.subtract(BigInteger.ONE);
+        in[2] = BigInteger.valueOf(Long.MAX_VALUE);
+        in[LENGTH - 1] = TWO_64.pow(2);
+        Arrays.fill(in, 4095, 4098, TWO_64.pow(2).subtract(BigInteger.TWO));
+        return in;
+    }
+
+    private static BigInteger Unsigned(long v) {
+        return (v < 0) ? BigInteger.valueOf(v).add(TWO_64) : BigInteger.valueOf(v);
+    }
+}
@@ -0,0 +1,13 @@
+package newtonplus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class BigFloatTest {
+
+    @Test
+    void sunsetQuestSqrtFloat() {
+        assertEquals(0, TestBigFloat.TestBigFloatSqrt(2, true));
+    }
+}
@@ -0,0 +1,20 @@
+package newtonplus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class BigIntegerRootsTest {
+
+    private static final int SECONDS = 2;
+
+    @Test
+    void nthRoot() {
+        assertEquals(0, TestBigIntegerRoots.TestNthRoot(SECONDS, 1 << 14, true));
+    }
+
+    @Test
+    void invSqrt() {
+        assertEquals(0, TestBigIntegerRoots.TestInvSqrt(SECONDS, 1 << 14, true));
+    }
+}
@@ -0,0 +1,28 @@
+package newtonplus;
+
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+// The seeded random loop the harnesses share. Each round hands BATCH_SIZE Randoms to check in
+// parallel, round s seeding them with (seed + s) * BATCH_SIZE + k, for at least MIN_ROUNDS rounds
+// and then until timeLimitMillis is used up. A failing input is therefore rebuilt from a single
+// long, whichever thread found it, and the first MIN_ROUNDS rounds are checked on every machine.
+final class SeededBatches {
+
+    static final int BATCH_SIZE = 64;
+    static final int MIN_ROUNDS = 4;
+
+    private SeededBatches() { }
+
+    /** @return The number of rounds run. */
+    static long Run(long seed, long timeLimitMillis, Consumer<Random> check) {
+        long start = System.currentTimeMillis();
+        long s = 0;
+        for (; s < MIN_ROUNDS || System.currentTimeMillis() - start < timeLimitMillis; s++) {
+            final long round = seed + s;
+            IntStream.range(0, BATCH_SIZE).parallel().forEach(k -> check.accept(new Random(round * BATCH_SIZE + k)));
+        }
+        return s;
+    }
+}
@@ -0,0 +1,215 @@
+package newtonplus;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+// The settings and counters are static, so each test puts them back the way it found them.
+class SqrtDiagnosticsTest {
+
+    private SqrtDiagnostics.VerificationLevel level;
+    private int sampleEvery;
+    private boolean metricsEnabled;
+
+    @BeforeEach
+    void save() {
+        level = SqrtDiagnostics.GetVerificationLevel();
+        sampleEvery = SqrtDiagnostics.GetSampleEvery();
+        metricsEnabled = SqrtDiagnostics.IsMetricsEnabled();
+        SqrtDiagnostics.Reset();
+    }
+
+    @AfterEach
+    void restore() {
+        SqrtDiagnostics.SetVerificationLevel(level, sampleEvery);
+        SqrtDiagnostics.SetMetricsEnabled(metricsEnabled);
+        SqrtDiagnostics.Reset();
+    }
+
+    //////// Verification ////////
+
+    @Test
+    void verifyAcceptsTheFloor() {
+        BigInteger x = BigInteger.ONE.shiftLeft(200).add(BigInteger.valueOf(12345));
+        BigInteger val = x.sqrt();
+        SqrtDiagnostics.Verify(x, val, val.multiply(val));
+        BigInteger square = val.multiply(val);
+        SqrtDiagnostics.Verify(square, val, square);
+        SqrtDiagnostics.Verify(square.add(val.shiftLeft(1)), val, square);
+    }
+
+    @Test
+    void verifyThrowsWhenTooHigh() {
+        BigInteger x = BigInteger.ONE.shiftLeft(200).add(BigInteger.valueOf(12345));
+        BigInteger val = x.sqrt().add(BigInteger.ONE);
+        SqrtVerificationException e = assertThrows(SqrtVerificationException.class,
+                () -> SqrtDiagnostics.Verify(x, val, val.multiply(val)));
+        assertEquals("Sqrt function had internal error - value too high on 201 bit input", e.getMessage());
+        assertSame(x, e.getInput());
+        assertSame(val, e.getResult());
+    }
+
+    @Test
+    void verifyThrowsWhenTooLow() {
+        BigInteger x = BigInteger.ONE.shiftLeft(200).add(BigInteger.valueOf(12345));
+        BigInteger val = x.sqrt().subtract(BigInteger.ONE);
+        SqrtVerificationException e = assertThrows(SqrtVerificationException.class,
+                () -> SqrtDiagnostics.Verify(x, val, val.multiply(val)));
+        assertEquals("Sqrt function had internal error - value too low on 201 bit input", e.getMessage());
+        assertSame(x, e.getInput());
+        assertSame(val, e.getResult());
+        assertTrue(e instanceof ArithmeticException);
+    }
+
+    @Test
+    void verificationLevels() {
+        SqrtDiagnostics.SetVerificationLevel(SqrtDiagnostics.VerificationLevel.OFF);
+        assertEquals(0, CountShouldVerify(10_000));
+
+        SqrtDiagnostics.SetVerificationLevel(SqrtDiagnostics.VerificationLevel.ALWAYS);
+        assertEquals(10_000, CountShouldVerify(10_000));
+
+        SqrtDiagnostics.SetVerificationLevel(SqrtDiagnostics.VerificationLevel.SAMPLED, 1);
+        assertEquals(10_000, CountShouldVerify(10_000));
+
+        // 1 in 4 of 40,000 calls: 10,000 expected with a standard deviation of about 87.
+        SqrtDiagnostics.SetVerificationLevel(SqrtDiagnostics.VerificationLevel.SAMPLED, 4);
+        assertEquals(4, SqrtDiagnostics.GetSampleEvery());
+        int sampled = CountShouldVerify(40_000);
+        assertTrue(sampled > 9_000 && sampled < 11_000, sampled + " of 40000 sampled");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> SqrtDiagnostics.SetVerificationLevel(SqrtDiagnostics.VerificationLevel.SAMPLED, 0));
+        assertEquals(SqrtDiagnostics.VerificationLevel.SAMPLED, SqrtDiagnostics.GetVerificationLevel());
+        assertEquals(4, SqrtDiagnostics.GetSampleEvery());
+    }
+
+    @Test
+    void verifiedCallsAreCounted() {
+        SqrtDiagnostics.SetMetricsEnabled(true);
+        SqrtDiagnostics.SetVerificationLevel(SqrtDiagnostics.VerificationLevel.ALWAYS);
+        BigInteger x = BigInteger.ONE.shiftLeft(300).add(BigInteger.valueOf(12345));
+        App.NewtonPlusSqrt(x);
+        App.NewtonPlusSqrt(x);
+        assertEquals(2, SqrtDiagnostics.GetSnapshot().verified());
+
+        SqrtDiagnostics.SetVerificationLevel(SqrtDiagnostics.VerificationLevel.OFF);
+        App.NewtonPlusSqrt(x);
+        assertEquals(2, SqrtDiagnostics.GetSnapshot().verified());
+    }
+
+    //////// Metrics ////////
+
+    @Test
+    void metricsOffCountsNothing() {
+        SqrtDiagnostics.SetMetricsEnabled(false);
+        for (int bits : new int[] { 40, 100, 600, 2000 }) {
+            App.NewtonPlusSqrt(BigInteger.ONE.shiftLeft(bits));
+            BigIntegerSquareRoot.SunsetQuestSqrt(BigInteger.ONE.shiftLeft(bits));
+        }
+        SqrtDiagnostics.Snapshot s = SqrtDiagnostics.GetSnapshot();
+        assertEquals(0, s.longPath() + s.doublePath() + s.newtonPath() + s.newtonPlusPath() + s.inversePath());
+    }
+
+    @Test
+    void pathCountersAndMBean() throws JMException {
+        SqrtDiagnostics.SetMetricsEnabled(true);
+        SqrtDiagnostics.SetVerificationLevel(SqrtDiagnostics.VerificationLevel.OFF);
+
+        // One input per path, through both functions.
+        BigInteger[] inputs = {
+            BigInteger.valueOf(1_000_000),                      // long
+            BigInteger.ONE.shiftLeft(100).add(BigInteger.TEN),  // double
+            BigInteger.ONE.shiftLeft(600).add(BigInteger.TEN),  // classic Newton
+            BigInteger.ONE.shiftLeft(2000).add(BigInteger.TEN)  // Newton Plus
+        };
+        for (BigInteger x : inputs) {
+            assertEquals(x.sqrt(), App.NewtonPlusSqrt(x));
+            assertEquals(x.sqrt(), BigIntegerSquareRoot.SunsetQuestSqrt(x));
+        }
+        BigInteger big = BigInteger.ONE.shiftLeft(1 << 16).add(BigInteger.TEN);
+        assertEquals(big.sqrt(), BigIntegerSquareRoot.SunsetQuestSqrt(big, 0)); // divide-less
+
+        // (2^100 + 7919)^2 - 1 comes out one too high before the correction on both functions.
+        BigInteger k = BigInteger.ONE.shiftLeft(100).add(BigInteger.valueOf(7919));
+        BigInteger roundUp = k.multiply(k).subtract(BigInteger.ONE);
+        assertEquals(roundUp.sqrt(), App.NewtonPlusSqrt(roundUp));
+        assertEquals(roundUp.sqrt(), BigIntegerSquareRoot.SunsetQuestSqrt(roundUp));
+
+        SqrtDiagnostics.Snapshot s = SqrtDiagnostics.GetSnapshot();
+        assertEquals(2, s.longPath());
+        assertEquals(4, s.doublePath());
+        assertEquals(2, s.newtonPath());
+        assertEquals(2, s.newtonPlusPath());
+        assertEquals(1, s.inversePath());
+        assertEquals(0, s.parallelPath());
+        assertEquals(2, s.roundUps());
+        assertEquals(0, s.verified());
+
+        // Both Newton Plus calls were on 2001 bit inputs, so row log2(2001) = 10.
+        long[] row = s.iterationHistogram()[10];
+        assertEquals(2, Arrays.stream(row).sum());
+        long total = Arrays.stream(s.iterationHistogram()).flatMapToLong(Arrays::stream).sum();
+        assertEquals(2, total);
+
+        SqrtDiagnostics.RegisterMBean();
+        SqrtDiagnostics.RegisterMBean(); // a second call does nothing
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("newtonplus:type=SqrtDiagnostics");
+        assertEquals(2L, server.getAttribute(name, "LongPathCount"));
+        assertEquals(4L, server.getAttribute(name, "DoublePathCount"));
+        assertEquals(2L, server.getAttribute(name, "NewtonPathCount"));
+        assertEquals(2L, server.getAttribute(name, "NewtonPlusPathCount"));
+        assertEquals(1L, server.getAttribute(name, "InversePathCount"));
+        assertEquals(0L, server.getAttribute(name, "ParallelPathCount"));
+        assertEquals(2L, server.getAttribute(name, "RoundUpCount"));
+        assertEquals(0L, server.getAttribute(name, "VerifiedCount"));
+        assertArrayEquals(s.iterationHistogram(), (long[][]) server.getAttribute(name, "IterationHistogram"));
+        assertEquals("OFF", server.getAttribute(name, "VerificationLevel"));
+        assertEquals(true, server.getAttribute(name, "MetricsEnabled"));
+
+        server.invoke(name, "reset", null, null);
+        assertEquals(0L, server.getAttribute(name, "LongPathCount"));
+        assertEquals(0, SqrtDiagnostics.GetSnapshot().doublePath());
+    }
+
+    @Test
+    void parallelCallsAreCounted() {
+        SqrtDiagnostics.SetMetricsEnabled(true);
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            BigInteger x = BigInteger.ONE.shiftLeft(1 << 13).add(BigInteger.TEN);
+            assertEquals(x.sqrt(), ParallelSquareRoot.NewtonPlusSqrt(x, pool, 1 << 12));
+            BigInteger small = BigInteger.ONE.shiftLeft(1 << 11);
+            assertEquals(small.sqrt(), ParallelSquareRoot.NewtonPlusSqrt(small, pool, 1 << 12));
+        } finally {
+            pool.shutdown();
+        }
+        SqrtDiagnostics.Snapshot s = SqrtDiagnostics.GetSnapshot();
+        assertEquals(1, s.parallelPath());
+        assertTrue(s.newtonPlusPath() > 0, "serial pieces are counted under SunsetQuestSqrt");
+    }
+
+    private static int CountShouldVerify(int calls) {
+        int count = 0;
+        for (int i = 0; i < calls; i++)
+            if (SqrtDiagnostics.ShouldVerify())
+                count++;
+        return count;
+    }
+}
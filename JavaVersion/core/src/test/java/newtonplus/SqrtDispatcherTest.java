@@ -0,0 +1,69 @@
+package newtonplus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SqrtDispatcherTest {
+
+    @Test
+    void calibratedDispatcherIsCorrect() {
+        SqrtDispatcher dispatcher = SqrtDispatcher.Calibrate(1 << 12, 5);
+        assertEquals(0, TestBigIntegers.TestBigIntegerSqrt(dispatcher::Sqrt, "SqrtDispatcher", 2, 1 << 18, true));
+    }
+
+    @Test
+    void everyStrategyIsCorrect() {
+        for (SqrtDispatcher.Strategy strategy : SqrtDispatcher.Strategy.values())
+            assertEquals(0, TestBigIntegers.TestBigIntegerSqrt(strategy::Sqrt, strategy.name(), 1, 1 << 13, true));
+    }
+
+    @Test
+    void bucketsAboveMaxBitsStayUntuned() {
+        SqrtDispatcher dispatcher = SqrtDispatcher.Calibrate(1 << 10, 5);
+        for (int bits = 1 << 11; bits > 0; bits <<= 1)
+            assertEquals(SqrtDispatcher.Strategy.SUNSET_QUEST, dispatcher.StrategyFor(bits), bits + " bits");
+        assertEquals(SqrtDispatcher.Strategy.SUNSET_QUEST, dispatcher.StrategyFor(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void savedProfileLoadsBackTheSame(@TempDir Path dir) throws IOException {
+        SqrtDispatcher dispatcher = SqrtDispatcher.Calibrate(1 << 10, 5);
+        Path profile = dir.resolve("sqrt-profile.properties");
+        dispatcher.Save(profile);
+        assertEquals(dispatcher.toString(), SqrtDispatcher.Load(profile).toString());
+        assertEquals(dispatcher.toString(), SqrtDispatcher.LoadOrCalibrate(profile).toString());
+    }
+
+    @Test
+    void saveReplacesTheProfileWithoutLeavingTempFiles(@TempDir Path dir) throws IOException {
+        Path profile = dir.resolve("sqrt-profile.properties");
+        SqrtDispatcher.Untuned().Save(profile);
+        SqrtDispatcher dispatcher = SqrtDispatcher.Calibrate(1 << 10, 5);
+        dispatcher.Save(profile);
+        assertEquals(dispatcher.toString(), SqrtDispatcher.Load(profile).toString());
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(List.of(profile), files.collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void fingerprintNamesTheCpuWhereKnown() throws IOException {
+        Path cpuinfo = Path.of("/proc/cpuinfo");
+        assumeTrue(System.getenv("PROCESSOR_IDENTIFIER") == null && Files.isReadable(cpuinfo));
+        try (Stream<String> lines = Files.lines(cpuinfo)) {
+            lines.filter(line -> line.startsWith("model name")).findFirst().ifPresent(line ->
+                    assertTrue(SqrtDispatcher.Fingerprint().endsWith(line.substring(line.indexOf(':') + 1).trim())));
+        }
+    }
+}
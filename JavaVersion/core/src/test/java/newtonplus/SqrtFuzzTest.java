@@ -0,0 +1,38 @@
+package newtonplus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+// The long boundary fuzzer. Tagged "fuzz" so it only runs with: mvn test -Pfuzz -Dfuzz.seed=<seed>
+// -Dfuzz.seconds=<seconds per function>. A failure prints a TestSqrtBoundaries.Case() call that
+// rebuilds the input.
+@Tag("fuzz")
+class SqrtFuzzTest {
+
+    private static final long SEED = Long.getLong("fuzz.seed", TestSqrtBoundaries.DEFAULT_SEED);
+    private static final int SECONDS = Integer.getInteger("fuzz.seconds", 60);
+
+    @Test
+    void newtonPlusSqrt() {
+        SqrtDiagnostics.VerificationLevel level = SqrtDiagnostics.GetVerificationLevel();
+        SqrtDiagnostics.SetVerificationLevel(SqrtDiagnostics.VerificationLevel.ALWAYS);
+        try {
+            assertEquals(0, TestSqrtBoundaries.FuzzSqrt(App::NewtonPlusSqrt, "NewtonPlusSqrt", SECONDS, 1 << 16, SEED, true));
+        } finally {
+            SqrtDiagnostics.SetVerificationLevel(level);
+        }
+    }
+
+    @Test
+    void sunsetQuestSqrt() {
+        assertEquals(0, TestSqrtBoundaries.FuzzSqrt(BigIntegerSquareRoot::SunsetQuestSqrt, "SunsetQuestSqrt", SECONDS, 1 << 16, SEED, true));
+    }
+
+    @Test
+    void sunsetQuestSqrtInversePath() {
+        assertEquals(0, TestSqrtBoundaries.FuzzSqrt(x -> BigIntegerSquareRoot.SunsetQuestSqrt(x, 0),
+                "SunsetQuestSqrt (inverse path)", SECONDS, 1 << 18, SEED, true));
+    }
+}
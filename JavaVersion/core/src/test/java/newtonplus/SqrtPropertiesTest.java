@@ -0,0 +1,79 @@
+package newtonplus;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+
+import net.jqwik.api.Arbitraries;
+import net.jqwik.api.Arbitrary;
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Property;
+import net.jqwik.api.Provide;
+import net.jqwik.api.constraints.IntRange;
+
+// Property tests against BigInteger.sqrt() on inputs weighted towards the places NewtonPlusSqrt
+// changes path. jqwik prints the seed and the shrunk input of any failure.
+class SqrtPropertiesTest {
+
+    @Provide
+    Arbitrary<BigInteger> inputs() {
+        Arbitrary<BigInteger> random = Arbitraries.integers().between(1, 4096)
+                .flatMap(bits -> Arbitraries.bigIntegers().between(BigInteger.ONE.shiftLeft(bits - 1), BigInteger.ONE.shiftLeft(bits)));
+        Arbitrary<BigInteger> nearThreshold = Arbitraries.of(TestSqrtBoundaries.THRESHOLDS)
+                .flatMap(t -> Arbitraries.longs().between(-(1L << 40), 1L << 40).map(d -> t.add(BigInteger.valueOf(d))));
+        Arbitrary<BigInteger> powersOfTwo = Arbitraries.integers().between(0, 4096)
+                .flatMap(n -> Arbitraries.integers().between(-5, 5).map(d -> BigInteger.ONE.shiftLeft(n).add(BigInteger.valueOf(d))));
+        Arbitrary<BigInteger> squares = roots()
+                .flatMap(r -> Arbitraries.integers().between(-1, 1).map(d -> r.multiply(r).add(BigInteger.valueOf(d))));
+        return Arbitraries.oneOf(random, nearThreshold, powersOfTwo, squares).filter(x -> x.signum() >= 0);
+    }
+
+    @Provide
+    Arbitrary<BigInteger> roots() {
+        return Arbitraries.integers().between(1, 2048)
+                .flatMap(bits -> Arbitraries.bigIntegers().between(BigInteger.ZERO, BigInteger.ONE.shiftLeft(bits)));
+    }
+
+    @Property
+    void newtonPlusSqrtIsFloorOfSqrt(@ForAll("inputs") BigInteger x) {
+        assertEquals(x.sqrt(), App.NewtonPlusSqrt(x));
+    }
+
+    @Property
+    void sunsetQuestSqrtIsFloorOfSqrt(@ForAll("inputs") BigInteger x) {
+        assertEquals(x.sqrt(), BigIntegerSquareRoot.SunsetQuestSqrt(x));
+    }
+
+    @Property
+    void sqrtRemMatchesJava(@ForAll("inputs") BigInteger x) {
+        assertArrayEquals(x.sqrtAndRemainder(), BigIntegerSquareRoot.SqrtRem(x));
+    }
+
+    @Property
+    void squaresAndOnlySquaresArePerfectSquares(@ForAll("roots") BigInteger r) {
+        BigInteger square = r.multiply(r);
+        assertTrue(BigIntegerSquareRoot.IsPerfectSquare(square));
+        if (r.signum() > 0)
+            assertFalse(BigIntegerSquareRoot.IsPerfectSquare(square.add(BigInteger.ONE)));
+        if (r.compareTo(BigInteger.ONE) > 0)
+            assertFalse(BigIntegerSquareRoot.IsPerfectSquare(square.subtract(BigInteger.ONE)));
+    }
+
+    @Property
+    void nthRootIsFloorOfRoot(@ForAll("inputs") BigInteger x, @ForAll @IntRange(min = 1, max = 64) int k) {
+        BigInteger v = BigIntegerRoots.NthRoot(x, k);
+        assertTrue(v.pow(k).compareTo(x) <= 0 && v.add(BigInteger.ONE).pow(k).compareTo(x) > 0,
+                "NthRoot(" + x + ", " + k + ") returned " + v);
+    }
+
+    @Property
+    void negativeInputThrows(@ForAll("inputs") BigInteger x) {
+        BigInteger negative = x.add(BigInteger.ONE).negate();
+        assertThrows(ArithmeticException.class, () -> App.NewtonPlusSqrt(negative));
+        assertThrows(ArithmeticException.class, () -> BigIntegerSquareRoot.SunsetQuestSqrt(negative));
+    }
+}
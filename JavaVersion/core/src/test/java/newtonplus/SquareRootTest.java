@@ -0,0 +1,86 @@
+package newtonplus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+// Runs the TestBigIntegers harness on every BigInteger square root. Each run is short; failures
+// are printed with their inputs before the assertion fails. The long runs are in SqrtFuzzTest.
+class SquareRootTest {
+
+    private static final int SECONDS = 2;
+
+    @Test
+    void sunsetQuestSqrt() {
+        assertEquals(0, TestBigIntegers.TestBigIntegerSqrt(BigIntegerSquareRoot::SunsetQuestSqrt,
+                "SunsetQuestSqrt", SECONDS, 1 << 16, true));
+    }
+
+    @Test
+    void sunsetQuestSqrtInversePath() {
+        assertEquals(0, TestBigIntegers.TestBigIntegerSqrt(x -> BigIntegerSquareRoot.SunsetQuestSqrt(x, 0),
+                "SunsetQuestSqrt (inverse path)", SECONDS, 1 << 18, true));
+    }
+
+    @Test
+    void newtonPlusSqrt() {
+        SqrtDiagnostics.VerificationLevel level = SqrtDiagnostics.GetVerificationLevel();
+        SqrtDiagnostics.SetVerificationLevel(SqrtDiagnostics.VerificationLevel.ALWAYS);
+        try {
+            assertEquals(0, TestBigIntegers.TestBigIntegerSqrt(App::NewtonPlusSqrt, "NewtonPlusSqrt", SECONDS, 1 << 16, true));
+        } finally {
+            SqrtDiagnostics.SetVerificationLevel(level);
+        }
+    }
+
+    @Test
+    void newtonPlusSqrtBoundaries() {
+        assertEquals(0, TestSqrtBoundaries.FuzzSqrt(App::NewtonPlusSqrt, "NewtonPlusSqrt", SECONDS, 1 << 12,
+                TestSqrtBoundaries.DEFAULT_SEED, true));
+    }
+
+    @Test
+    void mutableSquareRoot() {
+        ThreadLocal<MutableSquareRoot> mutableSqrt = ThreadLocal.withInitial(MutableSquareRoot::new);
+        assertEquals(0, TestBigIntegers.TestBigIntegerSqrt(x -> mutableSqrt.get().Sqrt(x),
+                "MutableSquareRoot", SECONDS, 1 << 13, true));
+    }
+
+    @Test
+    void parallelSquareRoot() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertEquals(0, TestBigIntegers.TestBigIntegerSqrt(x -> ParallelSquareRoot.NewtonPlusSqrt(x, pool, 1 << 12),
+                    "NewtonPlusSqrt (ForkJoinPool)", SECONDS, 1 << 19, true));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void parallelSquareRootCommonPool() {
+        // pool.invoke() on the common pool can run the root task on this thread, not a worker.
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        assertTrue(pool.getParallelism() >= 2, "run with -Djava.util.concurrent.ForkJoinPool.common.parallelism=4");
+        assertEquals(0, TestBigIntegers.TestBigIntegerSqrt(x -> ParallelSquareRoot.NewtonPlusSqrt(x, pool, 1 << 12),
+                "NewtonPlusSqrt (common pool)", SECONDS, 1 << 19, true));
+    }
+
+    @Test
+    void batchSquareRoot() {
+        assertEquals(0, TestBigIntegers.TestBigIntegerSqrt(x -> {
+            BigInteger[] out = new BigInteger[1];
+            BatchSquareRoot.SqrtAll(new BigInteger[] { x }, out);
+            return out[0];
+        }, "BatchSquareRoot.SqrtAll", SECONDS, 160, true));
+    }
+
+    @Test
+    void sqrtRemAndIsPerfectSquare() {
+        assertEquals(0, TestBigIntegers.TestSqrtRem(SECONDS, 1 << 14, true));
+    }
+}
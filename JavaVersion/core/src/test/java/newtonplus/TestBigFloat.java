@@ -0,0 +1,83 @@
+package newtonplus;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import newtonplus.BigFloatingPointSquareRoot.SqrtResult;
+
+// Java version of Test_BigFloat.cs.
+public class TestBigFloat {
+
+    // Returns the number of failures found.
+    public static long TestBigFloatSqrt(int testTimeInSeconds, boolean print) {
+        AtomicLong failCount = new AtomicLong();
+        long endTime = System.currentTimeMillis() + testTimeInSeconds * 1000L;
+
+        if (!new SqrtResult(BigInteger.ZERO, 5).equals(BigFloatingPointSquareRoot.SunsetQuestSqrtFloat(BigInteger.ZERO, 5, 5))) {
+            failCount.incrementAndGet();
+            if (print) System.out.println("!!!!!! Failed with X being 0 !!!!!!");
+        }
+        if (!new SqrtResult(BigInteger.valueOf(6), 1).equals(BigFloatingPointSquareRoot.SunsetQuestSqrtFloat(BigInteger.valueOf(5), 5, 0))) {
+            failCount.incrementAndGet();
+            if (print) System.out.println("!!!!!! Failed with WantedPrecision being 0 !!!!!!");
+        }
+
+        IntStream.range(0, 4).parallel().forEach(p -> {
+            Random random = new Random(p + 4);
+            while (System.currentTimeMillis() < endTime) {
+                ////////// (mantissa, shift) version //////////
+                BigInteger x = new BigInteger(1 + random.nextInt(random.nextInt(4000) + 1), random);
+                int shift = random.nextInt(2000) - 1000;
+                int wantedPrecision = 1 + random.nextInt(random.nextInt(2000) + 1);
+                if (x.signum() > 0) {
+                    SqrtResult r = BigFloatingPointSquareRoot.SunsetQuestSqrtFloat(x, shift, wantedPrecision);
+                    if (!IsFloorOfSqrt(x, shift, wantedPrecision, r)) {
+                        failCount.incrementAndGet();
+                        if (print) System.out.println("Failed: SunsetQuestSqrtFloat(" + x + ", " + shift + ", " + wantedPrecision
+                                + ") returned (" + r.val() + ", " + r.shift() + ")");
+                    }
+                }
+
+                ////////// BigDecimal adapter //////////
+                BigDecimal d = new BigDecimal(new BigInteger(1 + random.nextInt(600), random), random.nextInt(400) - 200);
+                if (random.nextBoolean())
+                    d = d.multiply(d); // exact roots
+                MathContext mc = new MathContext(1 + random.nextInt(300), RoundingMode.values()[random.nextInt(7)]);
+                BigDecimal ours = BigFloatingPointSquareRoot.SunsetQuestSqrt(d, mc);
+                BigDecimal java = d.sqrt(mc);
+                // Note: JDK 17 returns one ulp too many for exact roots with UP/CEILING, so an
+                // exact answer is accepted as correct even if it does not match.
+                if (ours.compareTo(java) != 0 && ours.multiply(ours).compareTo(d) != 0) {
+                    failCount.incrementAndGet();
+                    if (print) System.out.println("Failed: sqrt(" + d + ", " + mc + ") returned " + ours + " but BigDecimal.sqrt() returned " + java);
+                }
+            }
+        });
+
+        if (print) System.out.println("TestBigFloatSqrt Done.  Errors: " + failCount);
+        return failCount.get();
+    }
+
+    // Checks val has wantedPrecision bits and val*2^s <= sqrt(x*2^shift) < (val+1)*2^s.
+    private static boolean IsFloorOfSqrt(BigInteger x, int shift, int wantedPrecision, SqrtResult r) {
+        if (r.val().bitLength() != wantedPrecision)
+            return false;
+        // Compare squares, moving the powers of two to whichever side keeps them non-negative.
+        int e = 2 * r.shift() - shift;
+        BigInteger lo = r.val().multiply(r.val());
+        BigInteger hi = r.val().add(BigInteger.ONE).pow(2);
+        BigInteger xs = x;
+        if (e >= 0) {
+            lo = lo.shiftLeft(e);
+            hi = hi.shiftLeft(e);
+        } else {
+            xs = x.shiftLeft(-e);
+        }
+        return lo.compareTo(xs) <= 0 && xs.compareTo(hi) < 0;
+    }
+}
@@ -0,0 +1,83 @@
+package newtonplus;
+
+import java.math.BigInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+// Tests for BigIntegerRoots. Every small input is checked exhaustively, then random large inputs
+// (and perfect powers +/- 1) are checked for the rest of the time. Results are checked with their
+// defining inequalities, so only multiplies are needed to verify them.
+public class TestBigIntegerRoots {
+
+    private static final int RAND_SEED = 26;
+
+    // Returns the number of failures found.
+    public static long TestNthRoot(int testTimeInSeconds, int randomMaxBitSize, boolean print) {
+        AtomicLong failCount = new AtomicLong();
+        if (print) System.out.print("\n=================== TESTING: NthRoot =======================");
+
+        ///////////////// Exhaustive: x < 2^16, k = 1 to 40 /////////////////
+        IntStream.rangeClosed(1, 40).parallel().forEach(k -> {
+            for (int x = 0; x < 1 << 16; x++)
+                CheckNthRoot(BigInteger.valueOf(x), k, failCount, print);
+        });
+        if (print) System.out.print("\nExhaustive: ...Done  Errors so far: " + failCount);
+
+        ///////////////// Random: x and k, plus v^k + [-1 to +1] /////////////////
+        SeededBatches.Run(RAND_SEED, testTimeInSeconds * 1000L, rand -> {
+            int k = 3 + rand.nextInt(rand.nextBoolean() ? 8 : 200);
+            CheckNthRoot(new BigInteger(1 + rand.nextInt(randomMaxBitSize), rand), k, failCount, print);
+            BigInteger power = new BigInteger(1 + rand.nextInt(Math.max(1, randomMaxBitSize / k)), rand).pow(k);
+            for (int j = -1; j < 2; j++) {
+                BigInteger x = power.add(BigInteger.valueOf(j));
+                if (x.signum() >= 0)
+                    CheckNthRoot(x, k, failCount, print);
+            }
+        });
+        if (print) System.out.println("\nRandom: ...Done  Errors so far: " + failCount);
+        return failCount.get();
+    }
+
+    // Returns the number of failures found.
+    public static long TestInvSqrt(int testTimeInSeconds, int randomMaxBitSize, boolean print) {
+        AtomicLong failCount = new AtomicLong();
+        if (print) System.out.print("\n=================== TESTING: InvSqrt =======================");
+
+        ///////////////// Exhaustive: 0 < x < 2^16, bits = 0 to 120 /////////////////
+        IntStream.rangeClosed(0, 120).parallel().forEach(bits -> {
+            for (int x = 1; x < 1 << 16; x++)
+                CheckInvSqrt(BigInteger.valueOf(x), bits, failCount, print);
+        });
+        if (print) System.out.print("\nExhaustive: ...Done  Errors so far: " + failCount);
+
+        ///////////////// Random: x and bits, plus 2^n + [-1 to +1] /////////////////
+        SeededBatches.Run(RAND_SEED, testTimeInSeconds * 1000L, rand -> {
+            BigInteger x = new BigInteger(1 + rand.nextInt(randomMaxBitSize), rand);
+            if (rand.nextInt(4) == 0)
+                x = BigInteger.ONE.shiftLeft(rand.nextInt(randomMaxBitSize)).add(BigInteger.valueOf(rand.nextInt(3) - 1));
+            if (x.signum() > 0)
+                CheckInvSqrt(x, x.bitLength() / 2 + rand.nextInt(randomMaxBitSize), failCount, print);
+        });
+        if (print) System.out.println("\nRandom: ...Done  Errors so far: " + failCount);
+        return failCount.get();
+    }
+
+    // v^k <= x < (v+1)^k
+    private static void CheckNthRoot(BigInteger x, int k, AtomicLong failCount, boolean print) {
+        BigInteger v = BigIntegerRoots.NthRoot(x, k);
+        if (v.pow(k).compareTo(x) > 0 || v.add(BigInteger.ONE).pow(k).compareTo(x) <= 0) {
+            failCount.incrementAndGet();
+            if (print) System.out.println("\nFailed: NthRoot(" + x + ", " + k + ") returned " + v);
+        }
+    }
+
+    // v^2 * x <= 2^2b < (v+1)^2 * x
+    private static void CheckInvSqrt(BigInteger x, int bits, AtomicLong failCount, boolean print) {
+        BigInteger v = BigIntegerRoots.InvSqrt(x, bits);
+        BigInteger twoPow2b = BigInteger.ONE.shiftLeft(2 * bits);
+        if (v.pow(2).multiply(x).compareTo(twoPow2b) > 0 || v.add(BigInteger.ONE).pow(2).multiply(x).compareTo(twoPow2b) <= 0) {
+            failCount.incrementAndGet();
+            if (print) System.out.println("\nFailed: InvSqrt(" + x + ", " + bits + ") returned " + v);
+        }
+    }
+}
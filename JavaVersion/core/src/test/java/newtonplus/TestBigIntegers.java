@@ -0,0 +1,146 @@
+package newtonplus;
+
+import java.math.BigInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+// Java version of Test_BigIntegers.cs. Every result is checked with root^2 <= x < (root+1)^2 so
+// even multi-million bit inputs only cost a couple of multiplies to verify.
+public class TestBigIntegers {
+
+    private static final int RAND_SEED = 26;
+
+    /**
+     * Performs several different kinds of test on a BigInteger Sqrt function.
+     * @param sqrt The function to test.
+     * @param testTimeInSeconds The approximate time to spend on the timed tests. Each one first
+     *                          checks a fixed minimum (the first 1M integers, 2^n for n < 1024,
+     *                          SeededBatches.MIN_ROUNDS rounds) however long that takes.
+     * @param randomMaxBitSize The maximum bit length for the perfect square and random tests.
+     * @param print Prints status and error information to the console.
+     * @return The number of failures found.
+     */
+    public static long TestBigIntegerSqrt(Function<BigInteger, BigInteger> sqrt, String name, int testTimeInSeconds,
+            int randomMaxBitSize, boolean print) {
+        AtomicLong failCount = new AtomicLong();
+        long timeLimit = testTimeInSeconds * 1000L;
+
+        if (print) System.out.print("\n=================== TESTING: " + name + " =======================");
+
+        ///////////////// Verification 1 - Testing Common Numbers with issues /////////////////
+        if (print) System.out.print("\nVerification 1: Testing Common Numbers with issues: ");
+        try {
+            BigInteger temp = sqrt.apply(BigInteger.valueOf(-1));
+            failCount.incrementAndGet();
+            if (print) System.out.println("Failed for value -1 !!!!!!!! - Returned " + temp + " and not an error.");
+        } catch (ArithmeticException e) { }
+        for (String value : new String[] { "0", "1", "2", "4", "15", "4503599761588224", "144838757784765629",
+                "4611686018427387904", "4332296397072526994426", "21267648410233606278185108989805867927",
+                "197120777410685286861723419348662720446983624468633941814867274161329731855" }) {
+            CheckSqrt(sqrt, new BigInteger(value), failCount, print);
+        }
+        if (print) System.out.print("...Done  Errors so far: " + failCount);
+
+        ///////////////// Verification 2: Brute Force Testing: (0,1,2,3,4...) /////////////////
+        if (print) System.out.print("\nVerification 2: Brute Force Testing: (0,1,2,3,4...)");
+        long start = System.currentTimeMillis();
+        long i = 0;
+        for (; i < 1 || System.currentTimeMillis() - start < timeLimit / 4; i++) {
+            LongStream.range(i << 20, (i + 1) << 20).parallel()
+                    .forEach(x -> CheckSqrt(sqrt, BigInteger.valueOf(x), failCount, print));
+        }
+        if (print) System.out.print("...Done  Errors so far: " + failCount + "  Up to: " + i + "M");
+
+        ///////////////// Verification 3: Testing 2^n + [-5 to +5] /////////////////
+        if (print) System.out.print("\nVerification 3: Testing 2^n + [-5 to +5]: ");
+        start = System.currentTimeMillis();
+        int n = 0;
+        for (; n < 1024 || System.currentTimeMillis() - start < timeLimit / 4; n += 256) {
+            IntStream.range(n, n + 256).parallel().forEach(pow -> {
+                for (int j = -5; j < 6; j++) {
+                    BigInteger x = BigInteger.ONE.shiftLeft(pow).add(BigInteger.valueOf(j));
+                    if (x.signum() >= 0)
+                        CheckSqrt(sqrt, x, failCount, print);
+                }
+            });
+        }
+        if (print) System.out.print("...Done  Errors so far: " + failCount + "  Stopped at: 2^" + n);
+
+        ///////////////// Verification 4: Testing n^2 + [-1 to +1] /////////////////
+        if (print) System.out.print("\nVerification 4: Testing n^2 + [-1 to +1]: ");
+        SeededBatches.Run(RAND_SEED, timeLimit / 4, rand -> {
+            BigInteger root = new BigInteger(1 + rand.nextInt(Math.max(1, randomMaxBitSize / 2)), rand);
+            BigInteger square = root.multiply(root);
+            for (int j = -1; j < 2; j++) {
+                BigInteger x = square.add(BigInteger.valueOf(j));
+                if (x.signum() >= 0)
+                    CheckSqrt(sqrt, x, failCount, print);
+            }
+        });
+        if (print) System.out.print("...Done  Errors so far: " + failCount);
+
+        ///////////////// Verification 5 - Random number testing /////////////////
+        if (print) System.out.print("\nVerification 5: Testing Random Numbers: ");
+        // Seeds from far above Verification 4's so the two never replay the same Randoms.
+        SeededBatches.Run(RAND_SEED + (1L << 32), timeLimit / 4,
+                rand -> CheckSqrt(sqrt, new BigInteger(1 + rand.nextInt(randomMaxBitSize), rand), failCount, print));
+        if (print) System.out.println("...Done  Errors so far: " + failCount);
+
+        return failCount.get();
+    }
+
+    /**
+     * Checks SqrtRem() against BigInteger.sqrtAndRemainder() and IsPerfectSquare() against the
+     * remainder, on n^2 + [-1 to +1] and on random numbers.
+     * @return The number of failures found.
+     */
+    public static long TestSqrtRem(int testTimeInSeconds, int randomMaxBitSize, boolean print) {
+        AtomicLong failCount = new AtomicLong();
+        long timeLimit = testTimeInSeconds * 1000L;
+
+        if (print) System.out.print("\n=================== TESTING: SqrtRem and IsPerfectSquare =======================");
+        if (BigIntegerSquareRoot.IsPerfectSquare(BigInteger.valueOf(-1))) {
+            failCount.incrementAndGet();
+            if (print) System.out.println("Failed: IsPerfectSquare(-1) returned true.");
+        }
+        for (long x = 0; x < 1 << 16; x++)
+            CheckSqrtRem(BigInteger.valueOf(x), failCount, print);
+
+        SeededBatches.Run(RAND_SEED, timeLimit, rand -> {
+            BigInteger root = new BigInteger(1 + rand.nextInt(Math.max(1, randomMaxBitSize / 2)), rand);
+            BigInteger square = root.multiply(root);
+            for (int j = -1; j < 2; j++) {
+                BigInteger x = square.add(BigInteger.valueOf(j));
+                if (x.signum() >= 0)
+                    CheckSqrtRem(x, failCount, print);
+            }
+            CheckSqrtRem(new BigInteger(1 + rand.nextInt(randomMaxBitSize), rand), failCount, print);
+        });
+        if (print) System.out.println("...Done  Errors: " + failCount);
+        return failCount.get();
+    }
+
+    private static void CheckSqrtRem(BigInteger x, AtomicLong failCount, boolean print) {
+        BigInteger[] ours = BigIntegerSquareRoot.SqrtRem(x);
+        BigInteger[] java = x.sqrtAndRemainder();
+        boolean isSquare = BigIntegerSquareRoot.IsPerfectSquare(x);
+        if (!ours[0].equals(java[0]) || !ours[1].equals(java[1]) || isSquare != (java[1].signum() == 0)) {
+            failCount.incrementAndGet();
+            if (print) System.out.println("\nFailed: SqrtRem() returned {" + ours[0] + ", " + ours[1] + "} and IsPerfectSquare() returned "
+                    + isSquare + " on " + x.bitLength() + " bit input: " + x);
+        }
+    }
+
+    private static void CheckSqrt(Function<BigInteger, BigInteger> sqrt, BigInteger x, AtomicLong failCount, boolean print) {
+        BigInteger root = sqrt.apply(x);
+        BigInteger lowerBound = root.multiply(root);
+        BigInteger upperBound = lowerBound.add(root.shiftLeft(1)).add(BigInteger.ONE);
+        if (x.compareTo(lowerBound) < 0 || x.compareTo(upperBound) >= 0) {
+            failCount.incrementAndGet();
+            if (print) System.out.println("\nFailed (" + (x.compareTo(lowerBound) < 0 ? "Hi" : "Lo") + ") on "
+                    + x.bitLength() + " bit input: " + x);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package newtonplus;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+// A differential fuzzer for BigInteger Sqrt functions that goes after the places NewtonPlusSqrt
+// changes how it works: the long path limit, the double seeded paths, the classic Newton limit and
+// the edges of double precision. Every result is compared with BigInteger.sqrt() and checked with
+// root^2 <= x < (root+1)^2. Each case is made from (seed, case index) alone, so a failure prints
+// the pair and Case() gives the same input back on any machine and any number of cores.
+public class TestSqrtBoundaries {
+
+    public static final long DEFAULT_SEED = 26;
+
+    private static final int BATCH_SIZE = 1 << 8;
+
+    // Every run fuzzes at least this many batches, so the same first cases are checked however
+    // fast the machine is.
+    private static final int MIN_BATCHES = 16;
+
+    // Where NewtonPlusSqrt (and the hardware it leans on) changes behavior.
+    static final BigInteger[] THRESHOLDS = {
+            BigInteger.ONE.shiftLeft(26),                                // long sqrt results need 27+ bits
+            BigInteger.ONE.shiftLeft(52),                                // double has 53 bits
+            BigInteger.ONE.shiftLeft(53),
+            BigInteger.valueOf(144838757784765629L),                     // long path limit (~2^57)
+            BigInteger.ONE.shiftLeft(63),
+            new BigDecimal(2e63).toBigInteger(),                         // second Newton step
+            BigInteger.ONE.shiftLeft(64),
+            BigInteger.ONE.shiftLeft(106),
+            new BigDecimal(2.1267e37).toBigInteger(),                    // root no longer fits a long
+            BigInteger.ONE.shiftLeft(128),
+            new BigDecimal(4.3322e127).toBigInteger(),                   // classic Newton from here
+            new BigDecimal(4e254).toBigInteger(),                        // Newton Plus from here
+            new BigDecimal(Double.MAX_VALUE).toBigInteger(),             // doubleValue() is Infinity above
+            BigInteger.ONE.shiftLeft(1024),
+    };
+
+    // Inputs that have failed before, or nearly did, in some version of NewtonPlusSqrt. The four
+    // long ones that reach the Newton Plus loop (539 to 13254 digits) are in sqrt-regressions.txt.
+    private static final BigInteger[] REGRESSIONS;
+    static {
+        BigInteger max = new BigDecimal(Double.MAX_VALUE).toBigInteger();
+        BigInteger above = max.sqrt().add(BigInteger.ONE);
+        List<BigInteger> regressions = new ArrayList<>(List.of(
+                BigInteger.ZERO, BigInteger.ONE, BigInteger.TWO,
+                new BigInteger("4503599761588224"),
+                new BigInteger("144838757784765629"),
+                new BigInteger("4611686018427387904"),
+                new BigInteger("197120777410685286861723419348662720446983624468633941814867274161329731855"),
+                max, max.add(BigInteger.ONE),
+                above.multiply(above).subtract(BigInteger.ONE), above.multiply(above)));
+        regressions.addAll(ReadInputs("sqrt-regressions.txt"));
+        REGRESSIONS = regressions.toArray(new BigInteger[0]);
+    }
+
+    // One decimal number per line; blank lines and lines starting with # are skipped.
+    private static List<BigInteger> ReadInputs(String resource) {
+        InputStream in = TestSqrtBoundaries.class.getResourceAsStream(resource);
+        if (in == null)
+            throw new IllegalStateException("Missing test resource " + resource);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.US_ASCII))) {
+            return reader.lines().map(String::trim).filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                    .map(BigInteger::new).collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Checks a BigInteger Sqrt function on the regression inputs and around every threshold, then
+     * fuzzes it from a seed: MIN_BATCHES batches, then more until the time is up. Cases run on
+     * all cores.
+     * @param sqrt The function to test. Any exception it throws counts as a failure.
+     * @param testTimeInSeconds The approximate time to spend fuzzing.
+     * @param randomMaxBitSize The maximum bit length for the random inputs.
+     * @param seed Picks the inputs. The same seed always makes the same cases.
+     * @param print Prints status and a reproducer for each failure to the console.
+     * @return The number of failures found.
+     */
+    public static long FuzzSqrt(Function<BigInteger, BigInteger> sqrt, String name, int testTimeInSeconds,
+            int randomMaxBitSize, long seed, boolean print) {
+        AtomicLong failCount = new AtomicLong();
+
+        if (print) System.out.print("\n=================== FUZZING: " + name + " (seed " + seed + ") =======================");
+
+        ///////////////// Negative input must throw /////////////////
+        for (BigInteger x : new BigInteger[] { BigInteger.valueOf(-1), BigInteger.ONE.shiftLeft(300).negate() }) {
+            try {
+                BigInteger temp = sqrt.apply(x);
+                failCount.incrementAndGet();
+                if (print) System.out.println("\nFailed for value " + x + " - Returned " + temp + " and not an error.");
+            } catch (ArithmeticException e) { }
+        }
+
+        ///////////////// Regressions and every threshold + [-64 to +64] /////////////////
+        List<BigInteger> fixed = new ArrayList<>(List.of(REGRESSIONS));
+        for (BigInteger t : THRESHOLDS) {
+            BigInteger r = t.sqrt();
+            for (int j = -64; j <= 64; j++) {
+                fixed.add(t.add(BigInteger.valueOf(j)));
+                fixed.add(r.add(BigInteger.valueOf(j)).pow(2).subtract(BigInteger.ONE));
+                fixed.add(r.add(BigInteger.valueOf(j)).pow(2));
+            }
+        }
+        fixed.parallelStream().filter(x -> x.signum() >= 0)
+                .forEach(x -> Check(sqrt, x, "fixed input", failCount, print));
+        if (print) System.out.print("\nThresholds: " + fixed.size() + " inputs ...Done  Errors so far: " + failCount);
+
+        ///////////////// Fuzzing /////////////////
+        long start = System.currentTimeMillis();
+        long batch = 0;
+        for (; batch < MIN_BATCHES || System.currentTimeMillis() - start < testTimeInSeconds * 1000L; batch++) {
+            LongStream.range(batch * BATCH_SIZE, (batch + 1) * BATCH_SIZE).parallel().forEach(i ->
+                    Check(sqrt, Case(seed, i, randomMaxBitSize),
+                            "TestSqrtBoundaries.Case(" + seed + "L, " + i + "L, " + randomMaxBitSize + ")", failCount, print));
+        }
+        if (print) System.out.println("\nFuzzing: " + batch * BATCH_SIZE + " cases ...Done  Errors: " + failCount);
+
+        return failCount.get();
+    }
+
+    /**
+     * Returns the input FuzzSqrt() tried as case caseIndex for this seed. It depends on nothing
+     * else, so a printed reproducer gives back the failing input.
+     */
+    public static BigInteger Case(long seed, long caseIndex, int randomMaxBitSize) {
+        SplittableRandom rand = new SplittableRandom(
+                new SplittableRandom(seed + caseIndex * 0x9E3779B97F4A7C15L).nextLong());
+        BigInteger x;
+        switch (rand.nextInt(7)) {
+            case 0: { // a threshold +/- up to 2^64, so doubleValue() rounding goes both ways
+                BigInteger t = THRESHOLDS[rand.nextInt(THRESHOLDS.length)];
+                x = t.add(new BigInteger(rand.nextInt(65), AsRandom(rand)).multiply(BigInteger.valueOf(rand.nextBoolean() ? 1 : -1)));
+                break;
+            }
+            case 1: { // perfect squares + [-1 to +1] with roots near a threshold's root
+                BigInteger r = THRESHOLDS[rand.nextInt(THRESHOLDS.length)].sqrt();
+                r = r.add(BigInteger.valueOf(rand.nextInt(-(1 << 20), 1 << 20)));
+                x = r.multiply(r).add(BigInteger.valueOf(rand.nextInt(-1, 2)));
+                break;
+            }
+            case 2: // 2^n + [-5 to +5]
+                x = BigInteger.ONE.shiftLeft(rand.nextInt(randomMaxBitSize)).add(BigInteger.valueOf(rand.nextInt(-5, 6)));
+                break;
+            case 3: { // n^2 + [-1 to +1]
+                BigInteger r = new BigInteger(1 + rand.nextInt(Math.max(1, randomMaxBitSize / 2)), AsRandom(rand));
+                x = r.multiply(r).add(BigInteger.valueOf(rand.nextInt(-1, 2)));
+                break;
+            }
+            case 4: { // (2^n - 2^m)^2 + [-1 to +1], roots with long runs of ones
+                int n = 1 + rand.nextInt(Math.max(1, randomMaxBitSize / 2));
+                BigInteger r = BigInteger.ONE.shiftLeft(n).subtract(BigInteger.ONE.shiftLeft(rand.nextInt(n)));
+                x = r.multiply(r).add(BigInteger.valueOf(rand.nextInt(-1, 2)));
+                break;
+            }
+            case 5: // long runs of ones and zeros
+                x = Runs(rand, 1 + rand.nextInt(randomMaxBitSize));
+                break;
+            default: // random bits, with the length picked log-uniformly so small inputs get a fair share
+                x = new BigInteger(1 + (int)Math.pow(randomMaxBitSize, rand.nextDouble()), AsRandom(rand));
+                break;
+        }
+        return x.signum() < 0 ? x.negate() : x;
+    }
+
+    private static BigInteger Runs(SplittableRandom rand, int bits) {
+        BigInteger x = BigInteger.ZERO;
+        for (int pos = 0; pos < bits; ) {
+            int run = Math.min(bits - pos, 1 + rand.nextInt(1 + rand.nextInt(Math.min(bits, 256))));
+            if (rand.nextBoolean())
+                x = x.or(BigInteger.ONE.shiftLeft(run).subtract(BigInteger.ONE).shiftLeft(pos));
+            pos += run;
+        }
+        return x;
+    }
+
+    // BigInteger's random constructor takes a java.util.Random.
+    private static Random AsRandom(SplittableRandom rand) {
+        return new Random(rand.nextLong());
+    }
+
+    private static void Check(Function<BigInteger, BigInteger> sqrt, BigInteger x, String reproducer,
+            AtomicLong failCount, boolean print) {
+        BigInteger expected = x.sqrt();
+        BigInteger root;
+        try {
+            root = sqrt.apply(x);
+        } catch (RuntimeException e) {
+            failCount.incrementAndGet();
+            if (print) System.out.println("\nFailed with " + e + " on " + x.bitLength() + " bit input 0x"
+                    + x.toString(16) + "\n  Reproduce: " + reproducer);
+            return;
+        }
+        BigInteger lowerBound = root.multiply(root);
+        BigInteger upperBound = lowerBound.add(root.shiftLeft(1)).add(BigInteger.ONE);
+        if (!root.equals(expected) || x.compareTo(lowerBound) < 0 || x.compareTo(upperBound) >= 0) {
+            failCount.incrementAndGet();
+            if (print) System.out.println("\nFailed (" + (x.compareTo(lowerBound) < 0 ? "Hi" : "Lo") + ") on "
+                    + x.bitLength() + " bit input 0x" + x.toString(16) + ", returned 0x" + root.toString(16)
+                    + "\n  Reproduce: " + reproducer);
+        }
+    }
+}